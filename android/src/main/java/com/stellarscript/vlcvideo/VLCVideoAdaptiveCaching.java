@@ -0,0 +1,62 @@
+package com.stellarscript.vlcvideo;
+
+import android.os.SystemClock;
+
+final class VLCVideoAdaptiveCaching {
+
+    static final long DEFAULT_NETWORK_CACHING = 1000;
+
+    private static final long MAX_NETWORK_CACHING = 10000;
+    private static final int STALL_THRESHOLD = 2;
+    private static final long STALL_WINDOW = 30000;
+    private static final long STABLE_DURATION = 60000;
+
+    private long mBaseNetworkCaching = DEFAULT_NETWORK_CACHING;
+    private long mNetworkCaching = DEFAULT_NETWORK_CACHING;
+    private int mStallCount;
+    private long mStallWindowStartTime;
+    private long mLastChangeTime;
+
+    void reset(final long baseNetworkCaching) {
+        mBaseNetworkCaching = baseNetworkCaching >= 0 ? baseNetworkCaching : DEFAULT_NETWORK_CACHING;
+        mNetworkCaching = mBaseNetworkCaching;
+        mStallCount = 0;
+        mStallWindowStartTime = 0;
+        mLastChangeTime = SystemClock.elapsedRealtime();
+    }
+
+    long getNetworkCaching() {
+        return mNetworkCaching;
+    }
+
+    boolean onStall() {
+        final long now = SystemClock.elapsedRealtime();
+        mLastChangeTime = now;
+        if (now - mStallWindowStartTime > STALL_WINDOW) {
+            mStallWindowStartTime = now;
+            mStallCount = 0;
+        }
+
+        mStallCount++;
+        if (mStallCount < STALL_THRESHOLD || mNetworkCaching >= MAX_NETWORK_CACHING) {
+            return false;
+        }
+
+        mStallCount = 0;
+        mNetworkCaching = Math.min(Math.max(mNetworkCaching * 2, DEFAULT_NETWORK_CACHING), MAX_NETWORK_CACHING);
+        return true;
+    }
+
+    void onPlaybackProgress() {
+        if (mNetworkCaching <= mBaseNetworkCaching) {
+            return;
+        }
+
+        final long now = SystemClock.elapsedRealtime();
+        if (now - mLastChangeTime >= STABLE_DURATION) {
+            mLastChangeTime = now;
+            mNetworkCaching = Math.max(mNetworkCaching / 2, mBaseNetworkCaching);
+        }
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.stellarscript.vlcvideo;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.common.MapBuilder;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+import java.util.HashMap;
+import java.util.Map;
+
+final class VLCVideoAudioModule extends ReactContextBaseJavaModule {
+
+    private static final String MODULE_NAME = "VLCVideoAudio";
+
+    private final VLCVideoLibVLCProvider mLibVLCProvider;
+    private final VLCVideoPlayerPool mPlayerPool;
+    private final VLCVideoCacheProxy mCacheProxy;
+    private final Handler mHandler;
+    private final HashMap<Integer, VLCVideoAudioPlayer> mPlayers;
+    private final VLCVideoAudioPlayer.Listener mPlayerListener = new VLCVideoAudioPlayer.Listener() {
+
+        @Override
+        public void onEvent(final int playerId, final String eventName, final WritableMap payload) {
+            final ReactApplicationContext reactApplicationContext = getReactApplicationContext();
+            if (!reactApplicationContext.hasActiveCatalystInstance()) {
+                return;
+            }
+
+            final WritableMap event = Arguments.createMap();
+            event.putInt(VLCVideoEvents.EVENT_BATCH_TARGET_PROP, playerId);
+            event.putString(VLCVideoEvents.EVENT_BATCH_TYPE_PROP, eventName);
+            if (payload != null) {
+                event.putMap(VLCVideoEvents.EVENT_BATCH_PAYLOAD_PROP, payload);
+            }
+
+            reactApplicationContext.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class).emit(VLCVideoEvents.AUDIO_PLAYER_EVENT, event);
+        }
+
+    };
+
+    VLCVideoAudioModule(final ReactApplicationContext reactApplicationContext, final VLCVideoLibVLCProvider libVLCProvider, final VLCVideoPlayerPool playerPool, final VLCVideoCacheProxy cacheProxy) {
+        super(reactApplicationContext);
+        mLibVLCProvider = libVLCProvider;
+        mPlayerPool = playerPool;
+        mCacheProxy = cacheProxy;
+        mHandler = new Handler(Looper.getMainLooper());
+        mPlayers = new HashMap<>();
+    }
+
+    @Override
+    public String getName() {
+        return MODULE_NAME;
+    }
+
+    @Override
+    public Map<String, Object> getConstants() {
+        final Map<String, Object> constants = MapBuilder.newHashMap();
+
+        constants.put("AUDIO_PLAYER_EVENT", VLCVideoEvents.AUDIO_PLAYER_EVENT);
+
+        return constants;
+    }
+
+    @Override
+    public void onCatalystInstanceDestroy() {
+        mHandler.post(new Runnable() {
+
+            @Override
+            public void run() {
+                for (final VLCVideoAudioPlayer player : mPlayers.values()) {
+                    player.release();
+                }
+
+                mPlayers.clear();
+            }
+
+        });
+    }
+
+    @ReactMethod
+    public void loadMedia(final int playerId, final ReadableMap media) {
+        final String sourceUrl = VLCVideoViewManager.getString(media, VLCVideoProps.MEDIA_SOURCE_URL_PROP, null);
+        if (sourceUrl == null || sourceUrl.isEmpty()) {
+            return;
+        }
+
+        final long startTime = VLCVideoViewManager.getLong(media, VLCVideoProps.MEDIA_START_TIME_PROP, VLCVideoProps.MEDIA_START_TIME_DEFAULT_VALUE);
+        final boolean autoplay = VLCVideoViewManager.getBoolean(media, VLCVideoProps.MEDIA_AUTOPLAY_PROP, VLCVideoProps.MEDIA_AUTOPLAY_DEFAULT_VALUE);
+        final VLCVideoMediaOptions mediaOptions = VLCVideoViewManager.getMediaOptions(media, VLCVideoMediaOptions.UNSET_VALUE);
+        mHandler.post(new Runnable() {
+
+            @Override
+            public void run() {
+                VLCVideoAudioPlayer player = mPlayers.get(playerId);
+                if (player == null) {
+                    player = new VLCVideoAudioPlayer(playerId, mLibVLCProvider.get(), mPlayerPool, mCacheProxy, mPlayerListener);
+                    mPlayers.put(playerId, player);
+                }
+
+                player.loadMedia(sourceUrl, startTime, autoplay, mediaOptions);
+            }
+
+        });
+    }
+
+    @ReactMethod
+    public void play(final int playerId) {
+        mHandler.post(new Runnable() {
+
+            @Override
+            public void run() {
+                final VLCVideoAudioPlayer player = mPlayers.get(playerId);
+                if (player != null) {
+                    player.play();
+                }
+            }
+
+        });
+    }
+
+    @ReactMethod
+    public void pause(final int playerId) {
+        mHandler.post(new Runnable() {
+
+            @Override
+            public void run() {
+                final VLCVideoAudioPlayer player = mPlayers.get(playerId);
+                if (player != null) {
+                    player.pause();
+                }
+            }
+
+        });
+    }
+
+    @ReactMethod
+    public void seek(final int playerId, final double time) {
+        mHandler.post(new Runnable() {
+
+            @Override
+            public void run() {
+                final VLCVideoAudioPlayer player = mPlayers.get(playerId);
+                if (player != null) {
+                    player.seek((long) time);
+                }
+            }
+
+        });
+    }
+
+    @ReactMethod
+    public void release(final int playerId) {
+        mHandler.post(new Runnable() {
+
+            @Override
+            public void run() {
+                final VLCVideoAudioPlayer player = mPlayers.remove(playerId);
+                if (player != null) {
+                    player.release();
+                }
+            }
+
+        });
+    }
+
+}
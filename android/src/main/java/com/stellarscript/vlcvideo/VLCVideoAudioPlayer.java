@@ -0,0 +1,250 @@
+package com.stellarscript.vlcvideo;
+
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import org.videolan.libvlc.LibVLC;
+import org.videolan.libvlc.Media;
+import org.videolan.libvlc.MediaPlayer;
+
+import java.text.MessageFormat;
+
+final class VLCVideoAudioPlayer {
+
+    interface Listener {
+
+        void onEvent(int playerId, String eventName, WritableMap event);
+
+    }
+
+    private static final String THREAD_NAME = "VLCVideoAudioCommands";
+    private static final String MEDIA_ERROR_MESSAGE = "VLC encountered an error with this media.";
+    private static final String NO_VIDEO_OPTION = ":no-video";
+    private static final long SEEK_TIMEOUT = 2000;
+
+    private final int mPlayerId;
+    private final LibVLC mLibVLC;
+    private final VLCVideoPlayerPool mPlayerPool;
+    private final VLCVideoCacheProxy mCacheProxy;
+    private final Listener mListener;
+    private final Handler mHandler;
+    private final VLCVideoCommandQueue mCommandQueue;
+    private final MediaPlayer mMediaPlayer;
+    private Uri mSourceUri;
+    private long mLoadStartTime;
+    private boolean mAutoplay;
+    private boolean mIsSeekRequested;
+    private final Runnable mSeekTimeoutRunnable = new Runnable() {
+
+        @Override
+        public void run() {
+            if (mIsSeekRequested) {
+                VLCVideoAudioPlayer.this.onSeekCompleted();
+            }
+        }
+
+    };
+    private final MediaPlayer.EventListener mMediaPlayerEventListener = new MediaPlayer.EventListener() {
+
+        @Override
+        public void onEvent(final MediaPlayer.Event mediaEvent) {
+            final int eventType = mediaEvent.type;
+            switch (eventType) {
+                case MediaPlayer.Event.EndReached:
+                    VLCVideoAudioPlayer.this.emit(VLCVideoEvents.ON_END_REACHED_EVENT, null);
+                    VLCVideoAudioPlayer.this.stop();
+                    break;
+                case MediaPlayer.Event.EncounteredError:
+                    final WritableMap errorEvent = Arguments.createMap();
+                    errorEvent.putString(VLCVideoEvents.ON_ERROR_MESSAGE_PROP, MEDIA_ERROR_MESSAGE);
+                    errorEvent.putBoolean(VLCVideoEvents.ON_ERROR_IS_CRITICAL_PROP, true);
+                    VLCVideoAudioPlayer.this.emit(VLCVideoEvents.ON_ERROR_EVENT, errorEvent);
+                    VLCVideoAudioPlayer.this.stop();
+                    break;
+                case MediaPlayer.Event.Paused:
+                    VLCVideoAudioPlayer.this.emit(VLCVideoEvents.ON_PAUSED_EVENT, null);
+                    break;
+                case MediaPlayer.Event.TimeChanged:
+                    final WritableMap timeChangedEvent = Arguments.createMap();
+                    timeChangedEvent.putDouble(VLCVideoEvents.ON_TIME_CHANGED_TIME_PROP, mMediaPlayer.getTime());
+                    VLCVideoAudioPlayer.this.emit(VLCVideoEvents.ON_TIME_CHANGED_EVENT, timeChangedEvent);
+                    if (mIsSeekRequested) {
+                        VLCVideoAudioPlayer.this.onSeekCompleted();
+                    }
+                    break;
+                case MediaPlayer.Event.Playing:
+                    final WritableMap playingEvent = Arguments.createMap();
+                    playingEvent.putDouble(VLCVideoEvents.ON_PLAYING_DURATION_PROP, mMediaPlayer.getLength());
+                    VLCVideoAudioPlayer.this.emit(VLCVideoEvents.ON_PLAYING_EVENT, playingEvent);
+                    break;
+                case MediaPlayer.Event.Buffering:
+                    final WritableMap bufferingEvent = Arguments.createMap();
+                    bufferingEvent.putDouble(VLCVideoEvents.ON_BUFFERING_BUFFERING_PROP, mediaEvent.getBuffering());
+                    VLCVideoAudioPlayer.this.emit(VLCVideoEvents.ON_BUFFERING_EVENT, bufferingEvent);
+                    break;
+            }
+        }
+
+    };
+
+    VLCVideoAudioPlayer(final int playerId, final LibVLC libVLC, final VLCVideoPlayerPool playerPool, final VLCVideoCacheProxy cacheProxy, final Listener listener) {
+        mPlayerId = playerId;
+        mLibVLC = libVLC;
+        mPlayerPool = playerPool;
+        mCacheProxy = cacheProxy;
+        mListener = listener;
+        mHandler = new Handler(Looper.getMainLooper());
+        mCommandQueue = new VLCVideoCommandQueue(THREAD_NAME);
+        mMediaPlayer = mPlayerPool.acquire();
+        mMediaPlayer.setEventListener(mMediaPlayerEventListener);
+    }
+
+    void loadMedia(final String sourceUrl, final long startTime, final boolean autoplay, final VLCVideoMediaOptions mediaOptions) {
+        final Uri newSourceUri = Uri.parse(sourceUrl);
+        if (mSourceUri != null && mSourceUri.compareTo(newSourceUri) == 0) {
+            if (startTime >= 0 && startTime != mLoadStartTime) {
+                VLCVideoAudioPlayer.this.seek(startTime);
+            }
+
+            mLoadStartTime = startTime;
+            if (autoplay != mAutoplay) {
+                mAutoplay = autoplay;
+                if (autoplay) {
+                    VLCVideoAudioPlayer.this.play();
+                } else {
+                    VLCVideoAudioPlayer.this.pause();
+                }
+            }
+
+            return;
+        }
+
+        VLCVideoAudioPlayer.this.clearSeekRequest();
+        mSourceUri = newSourceUri;
+        mLoadStartTime = startTime;
+        mAutoplay = autoplay;
+        final MediaPlayer mediaPlayer = mMediaPlayer;
+        mCommandQueue.enqueueLatest(VLCVideoCommandQueue.LOAD_COMMAND, new Runnable() {
+
+            @Override
+            public void run() {
+                mediaPlayer.stop();
+                final Media media = VLCVideoAudioPlayer.this.createMedia(newSourceUri, startTime, mediaOptions);
+                mediaPlayer.setMedia(media);
+                media.release();
+                if (autoplay) {
+                    mediaPlayer.play();
+                }
+            }
+
+        });
+    }
+
+    void play() {
+        final MediaPlayer mediaPlayer = mMediaPlayer;
+        mCommandQueue.enqueue(new Runnable() {
+
+            @Override
+            public void run() {
+                mediaPlayer.play();
+            }
+
+        });
+    }
+
+    void pause() {
+        final MediaPlayer mediaPlayer = mMediaPlayer;
+        mCommandQueue.enqueue(new Runnable() {
+
+            @Override
+            public void run() {
+                mediaPlayer.pause();
+            }
+
+        });
+    }
+
+    void seek(final long time) {
+        final WritableMap event = Arguments.createMap();
+        event.putDouble(VLCVideoEvents.ON_SEEK_REQUESTED_TIME_PROP, time);
+        VLCVideoAudioPlayer.this.emit(VLCVideoEvents.ON_SEEK_REQUESTED_EVENT, event);
+        mIsSeekRequested = true;
+        mHandler.removeCallbacks(mSeekTimeoutRunnable);
+        mHandler.postDelayed(mSeekTimeoutRunnable, SEEK_TIMEOUT);
+        final MediaPlayer mediaPlayer = mMediaPlayer;
+        mCommandQueue.enqueueLatest(VLCVideoCommandQueue.SEEK_COMMAND, new Runnable() {
+
+            @Override
+            public void run() {
+                mediaPlayer.setTime(time);
+                mediaPlayer.play();
+            }
+
+        });
+    }
+
+    void release() {
+        VLCVideoAudioPlayer.this.clearSeekRequest();
+        mMediaPlayer.setEventListener(null);
+        final MediaPlayer mediaPlayer = mMediaPlayer;
+        mCommandQueue.enqueue(new Runnable() {
+
+            @Override
+            public void run() {
+                mPlayerPool.recycle(mediaPlayer);
+            }
+
+        });
+        mCommandQueue.quit();
+        mSourceUri = null;
+    }
+
+    private void stop() {
+        VLCVideoAudioPlayer.this.clearSeekRequest();
+        mCommandQueue.cancel(VLCVideoCommandQueue.SEEK_COMMAND);
+        final MediaPlayer mediaPlayer = mMediaPlayer;
+        mCommandQueue.enqueue(new Runnable() {
+
+            @Override
+            public void run() {
+                mediaPlayer.stop();
+            }
+
+        });
+    }
+
+    private void onSeekCompleted() {
+        VLCVideoAudioPlayer.this.clearSeekRequest();
+        VLCVideoAudioPlayer.this.emit(VLCVideoEvents.ON_SEEK_PERFORMED_EVENT, null);
+    }
+
+    private void clearSeekRequest() {
+        mHandler.removeCallbacks(mSeekTimeoutRunnable);
+        mIsSeekRequested = false;
+    }
+
+    private Media createMedia(final Uri sourceUri, final long startTime, final VLCVideoMediaOptions mediaOptions) {
+        final Uri mediaUri = mediaOptions.isLocalCacheEnabled() ? Uri.parse(mCacheProxy.getProxyUrl(sourceUri.toString())) : sourceUri;
+        final Media media = new Media(mLibVLC, mediaUri);
+        media.setHWDecoderEnabled(false, false);
+        mediaOptions.applyTo(media, mediaOptions.getNetworkCaching());
+        media.addOption(NO_VIDEO_OPTION);
+
+        if (startTime > 0) {
+            final long startTimeInSeconds = startTime / 1000;
+            final String startTimeOption = MessageFormat.format(":start-time={0}", String.valueOf(startTimeInSeconds));
+            media.addOption(startTimeOption);
+        }
+
+        return media;
+    }
+
+    private void emit(final String eventName, final WritableMap event) {
+        mListener.onEvent(mPlayerId, eventName, event);
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.stellarscript.vlcvideo;
+
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+final class VLCVideoCacheKeys {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private VLCVideoCacheKeys() {
+    }
+
+    static String sha1(final String value) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            final byte[] hash = digest.digest(value.getBytes(Charset.forName("UTF-8")));
+            final char[] hex = new char[hash.length * 2];
+            for (int index = 0; index < hash.length; index++) {
+                hex[index * 2] = HEX_DIGITS[(hash[index] >> 4) & 0x0f];
+                hex[index * 2 + 1] = HEX_DIGITS[hash[index] & 0x0f];
+            }
+
+            return new String(hex);
+        } catch (final NoSuchAlgorithmException e) {
+            return Integer.toHexString(value.hashCode()) + "_" + value.length();
+        }
+    }
+
+}
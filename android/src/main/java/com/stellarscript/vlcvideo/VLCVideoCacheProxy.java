@@ -0,0 +1,574 @@
+package com.stellarscript.vlcvideo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+final class VLCVideoCacheProxy {
+
+    static final String CACHE_DIRECTORY_NAME = "VLCVideoSegments";
+    static final long DEFAULT_MAX_SIZE = 256 * 1024 * 1024;
+
+    private static final String THREAD_NAME = "VLCVideoCacheProxy";
+    private static final String LOOPBACK_HOST = "127.0.0.1";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    private static final int MAX_ENTRY_SIZE_DIVISOR = 4;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int CONNECT_TIMEOUT = 10000;
+    private static final int READ_TIMEOUT = 30000;
+    private static final int MAX_HEADER_LINE_LENGTH = 8192;
+    private static final int SESSION_TOKEN_SIZE = 16;
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+
+    private final File mCacheDirectory;
+    private final Set<String> mAllowedOrigins;
+    private volatile long mMaxSize;
+    private volatile String mSessionToken;
+    private ServerSocket mServerSocket;
+    private ExecutorService mExecutor;
+
+    VLCVideoCacheProxy(final File cacheDirectory) {
+        this(cacheDirectory, DEFAULT_MAX_SIZE);
+    }
+
+    VLCVideoCacheProxy(final File cacheDirectory, final long maxSize) {
+        mCacheDirectory = cacheDirectory;
+        mAllowedOrigins = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        mMaxSize = Math.max(maxSize, 0);
+    }
+
+    static boolean isEligible(final String sourceUrl) {
+        if (sourceUrl == null) {
+            return false;
+        }
+
+        final String lowerCaseUrl = sourceUrl.toLowerCase(Locale.US);
+        return lowerCaseUrl.startsWith("http://") || lowerCaseUrl.startsWith("https://");
+    }
+
+    void setMaxSize(final long maxSize) {
+        mMaxSize = Math.max(maxSize, 0);
+    }
+
+    String getProxyUrl(final String sourceUrl) {
+        if (!VLCVideoCacheProxy.isEligible(sourceUrl) || mMaxSize == 0) {
+            return sourceUrl;
+        }
+
+        try {
+            final URI sourceUri = new URI(sourceUrl);
+            if (sourceUri.getRawAuthority() == null) {
+                return sourceUrl;
+            }
+
+            final int port = VLCVideoCacheProxy.this.start();
+            final String scheme = sourceUri.getScheme().toLowerCase(Locale.US);
+            mAllowedOrigins.add(VLCVideoCacheProxy.getOrigin(scheme + "://" + sourceUri.getRawAuthority()));
+            final StringBuilder proxyUrl = new StringBuilder("http://")
+                    .append(LOOPBACK_HOST).append(':').append(port)
+                    .append('/').append(mSessionToken)
+                    .append('/').append(scheme)
+                    .append('/').append(sourceUri.getRawAuthority());
+            final String rawPath = sourceUri.getRawPath();
+            proxyUrl.append(rawPath == null || rawPath.isEmpty() ? "/" : rawPath);
+            if (sourceUri.getRawQuery() != null) {
+                proxyUrl.append('?').append(sourceUri.getRawQuery());
+            }
+
+            return proxyUrl.toString();
+        } catch (final URISyntaxException | IOException e) {
+            e.printStackTrace();
+            return sourceUrl;
+        }
+    }
+
+    synchronized int start() throws IOException {
+        if (mServerSocket != null && !mServerSocket.isClosed()) {
+            return mServerSocket.getLocalPort();
+        }
+
+        mServerSocket = new ServerSocket(0, 0, InetAddress.getByName(LOOPBACK_HOST));
+        mSessionToken = VLCVideoCacheProxy.createSessionToken();
+        mExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, THREAD_NAME);
+                thread.setDaemon(true);
+                return thread;
+            }
+
+        });
+        final ServerSocket serverSocket = mServerSocket;
+        final ExecutorService executor = mExecutor;
+        executor.execute(new Runnable() {
+
+            @Override
+            public void run() {
+                VLCVideoCacheProxy.this.acceptConnections(serverSocket, executor);
+            }
+
+        });
+        return serverSocket.getLocalPort();
+    }
+
+    synchronized void stop() {
+        if (mServerSocket == null) {
+            return;
+        }
+
+        try {
+            mServerSocket.close();
+        } catch (final IOException e) {
+            e.printStackTrace();
+        }
+
+        mExecutor.shutdownNow();
+        mServerSocket = null;
+        mExecutor = null;
+        mSessionToken = null;
+        mAllowedOrigins.clear();
+    }
+
+    private void acceptConnections(final ServerSocket serverSocket, final ExecutorService executor) {
+        while (!serverSocket.isClosed()) {
+            try {
+                final Socket socket = serverSocket.accept();
+                executor.execute(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        VLCVideoCacheProxy.this.handleConnection(socket);
+                    }
+
+                });
+            } catch (final IOException e) {
+                if (!serverSocket.isClosed()) {
+                    e.printStackTrace();
+                }
+            } catch (final RuntimeException e) {
+                return;
+            }
+        }
+    }
+
+    private void handleConnection(final Socket socket) {
+        try (final Socket clientSocket = socket) {
+            clientSocket.setSoTimeout(READ_TIMEOUT);
+            final InputStream inputStream = new BufferedInputStream(clientSocket.getInputStream());
+            final OutputStream outputStream = new BufferedOutputStream(clientSocket.getOutputStream(), BUFFER_SIZE);
+            final String requestLine = VLCVideoCacheProxy.readLine(inputStream);
+            if (requestLine == null) {
+                return;
+            }
+
+            String rangeHeader = null;
+            String headerLine;
+            while ((headerLine = VLCVideoCacheProxy.readLine(inputStream)) != null && !headerLine.isEmpty()) {
+                final int separatorIndex = headerLine.indexOf(':');
+                if (separatorIndex > 0 && "range".equalsIgnoreCase(headerLine.substring(0, separatorIndex).trim())) {
+                    rangeHeader = headerLine.substring(separatorIndex + 1).trim();
+                }
+            }
+
+            final String[] requestParts = requestLine.split(" ");
+            final String method = requestParts[0];
+            final String upstreamUrl = requestParts.length > 1 ? VLCVideoCacheProxy.this.getUpstreamUrl(requestParts[1]) : null;
+            if (upstreamUrl == null) {
+                VLCVideoCacheProxy.writeStatus(outputStream, 400, "Bad Request");
+                return;
+            }
+
+            if (!mAllowedOrigins.contains(VLCVideoCacheProxy.getOrigin(upstreamUrl))) {
+                VLCVideoCacheProxy.writeStatus(outputStream, 403, "Forbidden");
+                return;
+            }
+
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                VLCVideoCacheProxy.writeStatus(outputStream, 405, "Method Not Allowed");
+                return;
+            }
+
+            final boolean isHead = "HEAD".equals(method);
+            final long[] range = VLCVideoCacheProxy.parseRange(rangeHeader);
+            final File entryFile = new File(mCacheDirectory, VLCVideoCacheKeys.sha1(upstreamUrl));
+            if (entryFile.isFile()) {
+                entryFile.setLastModified(System.currentTimeMillis());
+                VLCVideoCacheProxy.serveFile(entryFile, upstreamUrl, range, isHead, outputStream);
+            } else {
+                VLCVideoCacheProxy.this.serveUpstream(upstreamUrl, rangeHeader, range, isHead, entryFile, outputStream);
+            }
+        } catch (final IOException e) {
+            // The player closes its connection whenever it seeks or stops.
+        }
+    }
+
+    private void serveUpstream(final String upstreamUrl, final String rangeHeader, final long[] range, final boolean isHead, final File entryFile, final OutputStream outputStream) throws IOException {
+        final boolean isFullRequest = range == null || (range[0] == 0 && range[1] < 0);
+        final boolean isCacheable = !isHead && isFullRequest && VLCVideoCacheProxy.isCacheableUrl(upstreamUrl);
+        final HttpURLConnection connection = VLCVideoCacheProxy.openUpstream(upstreamUrl, isHead ? "HEAD" : "GET", isCacheable ? null : rangeHeader);
+        try {
+            final int responseCode = connection.getResponseCode();
+            final long contentLength = VLCVideoCacheProxy.parseLong(connection.getHeaderField("Content-Length"), -1);
+            final StringBuilder headers = new StringBuilder();
+            VLCVideoCacheProxy.appendStatusLine(headers, responseCode, connection.getResponseMessage());
+            final String contentType = connection.getContentType();
+            if (contentType != null) {
+                headers.append("Content-Type: ").append(contentType).append("\r\n");
+            }
+
+            if (contentLength >= 0) {
+                headers.append("Content-Length: ").append(contentLength).append("\r\n");
+            }
+
+            final String contentRange = connection.getHeaderField("Content-Range");
+            if (contentRange != null) {
+                headers.append("Content-Range: ").append(contentRange).append("\r\n");
+            }
+
+            final String location = VLCVideoCacheProxy.this.getProxyLocation(upstreamUrl, connection.getHeaderField("Location"));
+            if (location != null) {
+                headers.append("Location: ").append(location).append("\r\n");
+            }
+
+            headers.append("Accept-Ranges: bytes\r\nConnection: close\r\n\r\n");
+            outputStream.write(headers.toString().getBytes(ASCII));
+            if (isHead) {
+                outputStream.flush();
+                return;
+            }
+
+            final InputStream upstreamStream = responseCode >= 400 ? connection.getErrorStream() : connection.getInputStream();
+            if (upstreamStream == null) {
+                outputStream.flush();
+                return;
+            }
+
+            final long maxEntrySize = mMaxSize / MAX_ENTRY_SIZE_DIVISOR;
+            final boolean writeToCache = isCacheable && responseCode == HttpURLConnection.HTTP_OK && contentLength >= 0 && contentLength <= maxEntrySize
+                    && (mCacheDirectory.isDirectory() || mCacheDirectory.mkdirs());
+            final File tempFile = new File(mCacheDirectory, entryFile.getName() + "." + Thread.currentThread().getId() + TEMP_FILE_SUFFIX);
+            OutputStream cacheStream = null;
+            long transferredSize = 0;
+            try (final InputStream bodyStream = upstreamStream) {
+                if (writeToCache) {
+                    cacheStream = new BufferedOutputStream(new FileOutputStream(tempFile), BUFFER_SIZE);
+                }
+
+                final byte[] buffer = new byte[BUFFER_SIZE];
+                int readSize;
+                while ((readSize = bodyStream.read(buffer)) != -1) {
+                    outputStream.write(buffer, 0, readSize);
+                    if (cacheStream != null) {
+                        cacheStream.write(buffer, 0, readSize);
+                    }
+
+                    transferredSize += readSize;
+                }
+
+                outputStream.flush();
+            } finally {
+                if (cacheStream != null) {
+                    try {
+                        cacheStream.close();
+                    } catch (final IOException e) {
+                        transferredSize = -1;
+                    }
+
+                    if (transferredSize == contentLength && tempFile.renameTo(entryFile)) {
+                        VLCVideoCacheProxy.this.trimCache();
+                    } else {
+                        tempFile.delete();
+                    }
+                }
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static HttpURLConnection openUpstream(final String upstreamUrl, final String method, final String rangeHeader) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL(upstreamUrl).openConnection();
+        connection.setInstanceFollowRedirects(false);
+        connection.setConnectTimeout(CONNECT_TIMEOUT);
+        connection.setReadTimeout(READ_TIMEOUT);
+        connection.setRequestMethod(method);
+        if (rangeHeader != null) {
+            connection.setRequestProperty("Range", rangeHeader);
+        }
+
+        return connection;
+    }
+
+    private String getProxyLocation(final String upstreamUrl, final String location) {
+        if (location == null) {
+            return null;
+        }
+
+        try {
+            final String redirectUrl = new URL(new URL(upstreamUrl), location).toString();
+            return VLCVideoCacheProxy.isEligible(redirectUrl) ? VLCVideoCacheProxy.this.getProxyUrl(redirectUrl) : location;
+        } catch (final IOException e) {
+            return location;
+        }
+    }
+
+    private synchronized void trimCache() {
+        final File[] files = mCacheDirectory.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        long totalSize = 0;
+        for (final File file : files) {
+            totalSize += file.length();
+        }
+
+        if (totalSize <= mMaxSize) {
+            return;
+        }
+
+        Arrays.sort(files, new Comparator<File>() {
+
+            @Override
+            public int compare(final File file1, final File file2) {
+                return Long.compare(file1.lastModified(), file2.lastModified());
+            }
+
+        });
+        for (final File file : files) {
+            if (totalSize <= mMaxSize) {
+                break;
+            }
+
+            if (!file.getName().endsWith(TEMP_FILE_SUFFIX)) {
+                totalSize -= file.length();
+                file.delete();
+            }
+        }
+    }
+
+    private static void serveFile(final File file, final String upstreamUrl, final long[] range, final boolean isHead, final OutputStream outputStream) throws IOException {
+        final long fileSize = file.length();
+        final StringBuilder headers = new StringBuilder();
+        long start = 0;
+        long end = fileSize - 1;
+        if (range != null) {
+            start = range[0] >= 0 ? range[0] : Math.max(fileSize + range[0], 0);
+            end = range[0] >= 0 && range[1] >= 0 ? Math.min(range[1], fileSize - 1) : fileSize - 1;
+            if (start >= fileSize || start > end) {
+                VLCVideoCacheProxy.appendStatusLine(headers, 416, "Range Not Satisfiable");
+                headers.append("Content-Range: bytes */").append(fileSize).append("\r\n")
+                        .append("Content-Length: 0\r\nConnection: close\r\n\r\n");
+                outputStream.write(headers.toString().getBytes(ASCII));
+                outputStream.flush();
+                return;
+            }
+
+            VLCVideoCacheProxy.appendStatusLine(headers, 206, "Partial Content");
+            headers.append("Content-Range: bytes ").append(start).append('-').append(end).append('/').append(fileSize).append("\r\n");
+        } else {
+            VLCVideoCacheProxy.appendStatusLine(headers, 200, "OK");
+        }
+
+        final long length = end - start + 1;
+        headers.append("Content-Type: ").append(VLCVideoCacheProxy.getContentType(upstreamUrl)).append("\r\n")
+                .append("Content-Length: ").append(length).append("\r\n")
+                .append("Accept-Ranges: bytes\r\nConnection: close\r\n\r\n");
+        outputStream.write(headers.toString().getBytes(ASCII));
+        if (!isHead) {
+            try (final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+                randomAccessFile.seek(start);
+                final byte[] buffer = new byte[BUFFER_SIZE];
+                long remainingSize = length;
+                while (remainingSize > 0) {
+                    final int readSize = randomAccessFile.read(buffer, 0, (int) Math.min(buffer.length, remainingSize));
+                    if (readSize == -1) {
+                        break;
+                    }
+
+                    outputStream.write(buffer, 0, readSize);
+                    remainingSize -= readSize;
+                }
+            }
+        }
+
+        outputStream.flush();
+    }
+
+    private String getUpstreamUrl(final String requestTarget) {
+        final String sessionToken = mSessionToken;
+        if (sessionToken == null || !requestTarget.startsWith("/")) {
+            return null;
+        }
+
+        final int tokenEnd = requestTarget.indexOf('/', 1);
+        if (tokenEnd == -1 || !MessageDigest.isEqual(requestTarget.substring(1, tokenEnd).getBytes(ASCII), sessionToken.getBytes(ASCII))) {
+            return null;
+        }
+
+        final int schemeEnd = requestTarget.indexOf('/', tokenEnd + 1);
+        if (schemeEnd == -1) {
+            return null;
+        }
+
+        final String scheme = requestTarget.substring(tokenEnd + 1, schemeEnd);
+        if (!"http".equals(scheme) && !"https".equals(scheme)) {
+            return null;
+        }
+
+        final String remainder = requestTarget.substring(schemeEnd + 1);
+        if (remainder.isEmpty() || remainder.startsWith("/") || remainder.startsWith("?")) {
+            return null;
+        }
+
+        return scheme + "://" + remainder;
+    }
+
+    private static String getOrigin(final String url) {
+        final int authorityStart = url.indexOf("://") + 3;
+        int authorityEnd = authorityStart;
+        while (authorityEnd < url.length() && url.charAt(authorityEnd) != '/' && url.charAt(authorityEnd) != '?') {
+            authorityEnd++;
+        }
+
+        return url.substring(0, authorityEnd).toLowerCase(Locale.US);
+    }
+
+    private static String createSessionToken() {
+        final byte[] tokenBytes = new byte[SESSION_TOKEN_SIZE];
+        new SecureRandom().nextBytes(tokenBytes);
+        final StringBuilder token = new StringBuilder(SESSION_TOKEN_SIZE * 2);
+        for (final byte tokenByte : tokenBytes) {
+            token.append(String.format(Locale.US, "%02x", tokenByte));
+        }
+
+        return token.toString();
+    }
+
+    private static boolean isCacheableUrl(final String upstreamUrl) {
+        final String path = VLCVideoCacheProxy.getPath(upstreamUrl);
+        return !path.endsWith(".m3u8") && !path.endsWith(".m3u") && !path.endsWith(".mpd");
+    }
+
+    private static String getContentType(final String upstreamUrl) {
+        final String path = VLCVideoCacheProxy.getPath(upstreamUrl);
+        if (path.endsWith(".ts")) {
+            return "video/mp2t";
+        } else if (path.endsWith(".mp4") || path.endsWith(".m4s")) {
+            return "video/mp4";
+        } else if (path.endsWith(".aac")) {
+            return "audio/aac";
+        } else if (path.endsWith(".mkv")) {
+            return "video/x-matroska";
+        } else if (path.endsWith(".webm")) {
+            return "video/webm";
+        }
+
+        return "application/octet-stream";
+    }
+
+    private static String getPath(final String url) {
+        final int queryIndex = url.indexOf('?');
+        return (queryIndex == -1 ? url : url.substring(0, queryIndex)).toLowerCase(Locale.US);
+    }
+
+    private static long[] parseRange(final String rangeHeader) {
+        if (rangeHeader == null || !rangeHeader.startsWith("bytes=") || rangeHeader.indexOf(',') != -1) {
+            return null;
+        }
+
+        final String rangeSpec = rangeHeader.substring("bytes=".length()).trim();
+        final int separatorIndex = rangeSpec.indexOf('-');
+        if (separatorIndex == -1) {
+            return null;
+        }
+
+        final String startValue = rangeSpec.substring(0, separatorIndex).trim();
+        final String endValue = rangeSpec.substring(separatorIndex + 1).trim();
+        if (startValue.isEmpty()) {
+            final long suffixLength = VLCVideoCacheProxy.parseLong(endValue, -1);
+            return suffixLength > 0 ? new long[]{-suffixLength, -1} : null;
+        }
+
+        final long start = VLCVideoCacheProxy.parseLong(startValue, -1);
+        final long end = endValue.isEmpty() ? -1 : VLCVideoCacheProxy.parseLong(endValue, -1);
+        if (start < 0 || (!endValue.isEmpty() && end < start)) {
+            return null;
+        }
+
+        return new long[]{start, end};
+    }
+
+    private static long parseLong(final String value, final long defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            return Long.parseLong(value.trim());
+        } catch (final NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static void appendStatusLine(final StringBuilder headers, final int statusCode, final String reasonPhrase) {
+        headers.append("HTTP/1.1 ").append(statusCode).append(' ').append(reasonPhrase != null ? reasonPhrase : "").append("\r\n");
+    }
+
+    private static void writeStatus(final OutputStream outputStream, final int statusCode, final String reasonPhrase) throws IOException {
+        final StringBuilder headers = new StringBuilder();
+        VLCVideoCacheProxy.appendStatusLine(headers, statusCode, reasonPhrase);
+        headers.append("Content-Length: 0\r\nConnection: close\r\n\r\n");
+        outputStream.write(headers.toString().getBytes(ASCII));
+        outputStream.flush();
+    }
+
+    private static String readLine(final InputStream inputStream) throws IOException {
+        final StringBuilder line = new StringBuilder();
+        int character;
+        while ((character = inputStream.read()) != -1) {
+            if (character == '\n') {
+                final int length = line.length();
+                if (length > 0 && line.charAt(length - 1) == '\r') {
+                    line.setLength(length - 1);
+                }
+
+                return line.toString();
+            }
+
+            if (line.length() >= MAX_HEADER_LINE_LENGTH) {
+                throw new IOException("Header line too long");
+            }
+
+            line.append((char) character);
+        }
+
+        return line.length() > 0 ? line.toString() : null;
+    }
+
+}
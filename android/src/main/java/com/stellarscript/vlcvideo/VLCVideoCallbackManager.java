@@ -2,8 +2,8 @@ package com.stellarscript.vlcvideo;
 
 import android.content.Intent;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class VLCVideoCallbackManager {
 
@@ -11,28 +11,36 @@ public class VLCVideoCallbackManager {
         boolean onNewIntent(final Intent intent);
     }
 
-    private Set<IntentCallback> callbacks;
+    static final String SESSION_ID_EXTRA = "VLCVideo:SessionId";
+    static final int NO_SESSION_ID = 0;
+
+    private static final AtomicInteger sSessionIdGenerator = new AtomicInteger(NO_SESSION_ID);
+
+    private final ConcurrentHashMap<Integer, IntentCallback> callbacks;
 
     public VLCVideoCallbackManager() {
-        callbacks = new HashSet<>();
+        callbacks = new ConcurrentHashMap<>();
+    }
+
+    static int generateSessionId() {
+        return sSessionIdGenerator.incrementAndGet();
     }
 
     public boolean onNewIntent(final Intent intent) {
-        boolean handled = false;
-        for (final IntentCallback callback : callbacks) {
-            if (callback.onNewIntent(intent)) {
-                handled = true;
-            }
+        if (intent == null) {
+            return false;
         }
 
-        return handled;
+        final int sessionId = intent.getIntExtra(SESSION_ID_EXTRA, NO_SESSION_ID);
+        final IntentCallback callback = sessionId != NO_SESSION_ID ? callbacks.get(sessionId) : null;
+        return callback != null && callback.onNewIntent(intent);
     }
 
-    void addCallback(final IntentCallback callback) {
-        callbacks.add(callback);
+    void addCallback(final int sessionId, final IntentCallback callback) {
+        callbacks.put(sessionId, callback);
     }
 
-    void removeCallback(final IntentCallback callback) {
-        callbacks.remove(callback);
+    void removeCallback(final int sessionId, final IntentCallback callback) {
+        callbacks.remove(sessionId, callback);
     }
 }
@@ -0,0 +1,59 @@
+package com.stellarscript.vlcvideo;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.SystemClock;
+
+final class VLCVideoCommandQueue {
+
+    static final Object LOAD_COMMAND = new Object();
+    static final Object SEEK_COMMAND = new Object();
+
+    private static final String THREAD_NAME = "VLCVideoCommands";
+
+    private final HandlerThread mHandlerThread;
+    private final Handler mHandler;
+
+    VLCVideoCommandQueue() {
+        this(THREAD_NAME);
+    }
+
+    VLCVideoCommandQueue(final String threadName) {
+        mHandlerThread = new HandlerThread(threadName);
+        mHandlerThread.start();
+        mHandler = new Handler(mHandlerThread.getLooper());
+    }
+
+    void enqueue(final Runnable command) {
+        mHandler.post(VLCVideoCommandQueue.guard(command));
+    }
+
+    void enqueueLatest(final Object commandType, final Runnable command) {
+        mHandler.removeCallbacksAndMessages(commandType);
+        mHandler.postAtTime(VLCVideoCommandQueue.guard(command), commandType, SystemClock.uptimeMillis());
+    }
+
+    void cancel(final Object commandType) {
+        mHandler.removeCallbacksAndMessages(commandType);
+    }
+
+    void quit() {
+        mHandlerThread.quitSafely();
+    }
+
+    private static Runnable guard(final Runnable command) {
+        return new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    command.run();
+                } catch (final Throwable e) {
+                    e.printStackTrace();
+                }
+            }
+
+        };
+    }
+
+}
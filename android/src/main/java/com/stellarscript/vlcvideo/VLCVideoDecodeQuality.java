@@ -0,0 +1,91 @@
+package com.stellarscript.vlcvideo;
+
+import org.videolan.libvlc.Media;
+
+import java.text.MessageFormat;
+
+final class VLCVideoDecodeQuality {
+
+    static final VLCVideoDecodeQuality FULL = new VLCVideoDecodeQuality(0, 0, false);
+
+    private static final int[][] RESOLUTION_TIERS = {
+            {426, 240},
+            {640, 360},
+            {854, 480},
+            {1280, 720},
+            {1920, 1080}
+    };
+    private static final int FAST_DECODE_MAX_HEIGHT = 360;
+
+    private final int mMaxWidth;
+    private final int mMaxHeight;
+    private final boolean mFastDecode;
+
+    private VLCVideoDecodeQuality(final int maxWidth, final int maxHeight, final boolean fastDecode) {
+        mMaxWidth = maxWidth;
+        mMaxHeight = maxHeight;
+        mFastDecode = fastDecode;
+    }
+
+    static VLCVideoDecodeQuality forSurface(final int width, final int height) {
+        if (width <= 0 || height <= 0) {
+            return FULL;
+        }
+
+        for (final int[] tier : RESOLUTION_TIERS) {
+            final int tierWidth = tier[0];
+            final int tierHeight = tier[1];
+            if (width <= tierWidth && height <= tierHeight) {
+                return new VLCVideoDecodeQuality(tierWidth, tierHeight, tierHeight <= FAST_DECODE_MAX_HEIGHT);
+            }
+        }
+
+        return FULL;
+    }
+
+    boolean isHigherThan(final VLCVideoDecodeQuality other) {
+        if (mMaxHeight == other.mMaxHeight) {
+            return !mFastDecode && other.mFastDecode;
+        }
+
+        return mMaxHeight == 0 || (other.mMaxHeight != 0 && mMaxHeight > other.mMaxHeight);
+    }
+
+    void applyTo(final Media media) {
+        if (mMaxHeight > 0) {
+            media.addOption(MessageFormat.format(":adaptive-maxwidth={0}", String.valueOf(mMaxWidth)));
+            media.addOption(MessageFormat.format(":adaptive-maxheight={0}", String.valueOf(mMaxHeight)));
+        }
+
+        if (mFastDecode) {
+            media.addOption(":avcodec-skiploopfilter=4");
+            media.addOption(":avcodec-fast");
+            media.addOption(":skip-frames");
+        }
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (VLCVideoDecodeQuality.this == other) {
+            return true;
+        }
+
+        if (!(other instanceof VLCVideoDecodeQuality)) {
+            return false;
+        }
+
+        final VLCVideoDecodeQuality otherQuality = (VLCVideoDecodeQuality) other;
+        return mMaxWidth == otherQuality.mMaxWidth &&
+                mMaxHeight == otherQuality.mMaxHeight &&
+                mFastDecode == otherQuality.mFastDecode;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = mMaxWidth;
+        result = 31 * result + mMaxHeight;
+        result = 31 * result + (mFastDecode ? 1 : 0);
+        return result;
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.stellarscript.vlcvideo;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Build;
+
+import org.videolan.libvlc.Media;
+
+import java.text.MessageFormat;
+
+final class VLCVideoDecoderCache {
+
+    private static final String PREFERENCES_NAME = "VLCVideoDecoderCache";
+    private static final String FAILURE_COUNT_KEY_SUFFIX = "|failures";
+    private static final int MAX_HW_DECODER_FAILURES = 3;
+
+    private final SharedPreferences mPreferences;
+
+    VLCVideoDecoderCache(final Context context) {
+        mPreferences = context.getApplicationContext().getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
+    }
+
+    static String getFormatKey(final Media media) {
+        if (media == null) {
+            return null;
+        }
+
+        final int trackCount = media.getTrackCount();
+        for (int index = 0; index < trackCount; index++) {
+            final Media.Track track = media.getTrack(index);
+            if (track instanceof Media.VideoTrack && track.codec != null) {
+                final Media.VideoTrack videoTrack = (Media.VideoTrack) track;
+                return MessageFormat.format("{0}/{1}/{2}|{3}|{4}x{5}",
+                        Build.MANUFACTURER,
+                        Build.MODEL,
+                        String.valueOf(Build.VERSION.SDK_INT),
+                        videoTrack.codec,
+                        String.valueOf(videoTrack.width),
+                        String.valueOf(videoTrack.height));
+            }
+        }
+
+        return null;
+    }
+
+    boolean isHwDecoderUsable(final String formatKey) {
+        return formatKey == null || mPreferences.getInt(formatKey + FAILURE_COUNT_KEY_SUFFIX, 0) < MAX_HW_DECODER_FAILURES;
+    }
+
+    void markHwDecoderFailed(final String formatKey) {
+        if (formatKey != null) {
+            final String failureCountKey = formatKey + FAILURE_COUNT_KEY_SUFFIX;
+            mPreferences.edit().putInt(failureCountKey, mPreferences.getInt(failureCountKey, 0) + 1).apply();
+        }
+    }
+
+    void markHwDecoderSucceeded(final String formatKey) {
+        if (formatKey != null && mPreferences.contains(formatKey + FAILURE_COUNT_KEY_SUFFIX)) {
+            mPreferences.edit().remove(formatKey + FAILURE_COUNT_KEY_SUFFIX).apply();
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.stellarscript.vlcvideo;
+
+import android.view.Choreographer;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+import java.util.ArrayList;
+
+final class VLCVideoEventBatcher {
+
+    private static final class PendingEvent {
+
+        private final int mViewId;
+        private final String mEventName;
+        private WritableMap mPayload;
+
+        private PendingEvent(final int viewId, final String eventName, final WritableMap payload) {
+            mViewId = viewId;
+            mEventName = eventName;
+            mPayload = payload;
+        }
+
+    }
+
+    private final ReactContext mReactContext;
+    private final ArrayList<PendingEvent> mPendingEvents;
+    private boolean mIsFlushScheduled;
+    private final Choreographer.FrameCallback mFlushFrameCallback = new Choreographer.FrameCallback() {
+
+        @Override
+        public void doFrame(final long frameTimeNanos) {
+            mIsFlushScheduled = false;
+            VLCVideoEventBatcher.this.flush();
+        }
+
+    };
+
+    VLCVideoEventBatcher(final ReactContext reactContext) {
+        mReactContext = reactContext;
+        mPendingEvents = new ArrayList<>();
+    }
+
+    void enqueue(final int viewId, final String eventName, final WritableMap payload) {
+        if (VLCVideoEventBatcher.isCollapsible(eventName)) {
+            for (int index = mPendingEvents.size() - 1; index >= 0; index--) {
+                final PendingEvent pendingEvent = mPendingEvents.get(index);
+                if (pendingEvent.mViewId == viewId) {
+                    if (pendingEvent.mEventName.equals(eventName)) {
+                        pendingEvent.mPayload = payload;
+                        return;
+                    }
+
+                    break;
+                }
+            }
+        }
+
+        mPendingEvents.add(new PendingEvent(viewId, eventName, payload));
+        if (!mIsFlushScheduled) {
+            mIsFlushScheduled = true;
+            Choreographer.getInstance().postFrameCallback(mFlushFrameCallback);
+        }
+    }
+
+    void flush() {
+        if (mIsFlushScheduled) {
+            mIsFlushScheduled = false;
+            Choreographer.getInstance().removeFrameCallback(mFlushFrameCallback);
+        }
+
+        if (mPendingEvents.isEmpty()) {
+            return;
+        }
+
+        final WritableArray batch = Arguments.createArray();
+        for (final PendingEvent pendingEvent : mPendingEvents) {
+            final WritableMap event = Arguments.createMap();
+            event.putInt(VLCVideoEvents.EVENT_BATCH_TARGET_PROP, pendingEvent.mViewId);
+            event.putString(VLCVideoEvents.EVENT_BATCH_TYPE_PROP, pendingEvent.mEventName);
+            if (pendingEvent.mPayload != null) {
+                event.putMap(VLCVideoEvents.EVENT_BATCH_PAYLOAD_PROP, pendingEvent.mPayload);
+            }
+
+            batch.pushMap(event);
+        }
+
+        mPendingEvents.clear();
+        if (mReactContext.hasActiveCatalystInstance()) {
+            mReactContext.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class).emit(VLCVideoEvents.EVENT_BATCH_EVENT, batch);
+        }
+    }
+
+    private static boolean isCollapsible(final String eventName) {
+        return VLCVideoEvents.ON_BUFFERING_EVENT.equals(eventName) ||
+                VLCVideoEvents.ON_TIME_CHANGED_EVENT.equals(eventName) ||
+                VLCVideoEvents.ON_STATS_EVENT.equals(eventName);
+    }
+
+}
@@ -1,5 +1,9 @@
 package com.stellarscript.vlcvideo;
 
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.ThemedReactContext;
@@ -9,53 +13,192 @@ final class VLCVideoEventEmitter {
 
     private final VLCVideoView mVideoView;
     private final RCTEventEmitter mEventEmitter;
+    private final Handler mHandler;
+    private final VLCVideoEventBatcher mEventBatcher;
+    private boolean mEventBatchingEnabled;
+    private int mTimeUpdateInterval;
+    private boolean mTimeUpdateWholeSeconds;
+    private boolean mHasPendingTime;
+    private double mPendingTime;
+    private long mLastTimeChangedSecond = -1;
+    private long mLastTimeChangedUptime;
+    private boolean mIsTimeChangedFlushScheduled;
+    private final Runnable mFlushTimeChangedRunnable = new Runnable() {
+
+        @Override
+        public void run() {
+            mIsTimeChangedFlushScheduled = false;
+            VLCVideoEventEmitter.this.flushTimeChanged();
+        }
+
+    };
 
-    VLCVideoEventEmitter(final VLCVideoView videoView, final ThemedReactContext themedReactContext) {
+    VLCVideoEventEmitter(final VLCVideoView videoView, final ThemedReactContext themedReactContext, final VLCVideoEventBatcher eventBatcher) {
         mVideoView = videoView;
         mEventEmitter = themedReactContext.getJSModule(RCTEventEmitter.class);
+        mHandler = new Handler(Looper.getMainLooper());
+        mEventBatcher = eventBatcher;
+    }
+
+    void setEventBatchingEnabled(final boolean eventBatchingEnabled) {
+        if (mEventBatchingEnabled && !eventBatchingEnabled) {
+            mEventBatcher.flush();
+        }
+
+        mEventBatchingEnabled = eventBatchingEnabled;
+    }
+
+    void setTimeUpdateInterval(final int timeUpdateInterval) {
+        mTimeUpdateInterval = Math.max(timeUpdateInterval, 0);
+    }
+
+    void setTimeUpdateWholeSeconds(final boolean timeUpdateWholeSeconds) {
+        mTimeUpdateWholeSeconds = timeUpdateWholeSeconds;
+    }
+
+    void flushTimeChanged() {
+        if (mIsTimeChangedFlushScheduled) {
+            mIsTimeChangedFlushScheduled = false;
+            mHandler.removeCallbacks(mFlushTimeChangedRunnable);
+        }
+
+        if (!mHasPendingTime) {
+            return;
+        }
+
+        mHasPendingTime = false;
+        mLastTimeChangedSecond = (long) mPendingTime / 1000;
+        mLastTimeChangedUptime = SystemClock.uptimeMillis();
+        final WritableMap event = Arguments.createMap();
+        event.putDouble(VLCVideoEvents.ON_TIME_CHANGED_TIME_PROP, mPendingTime);
+        VLCVideoEventEmitter.this.dispatch(VLCVideoEvents.ON_TIME_CHANGED_EVENT, event);
+    }
+
+    void clearTimeChanged() {
+        if (mIsTimeChangedFlushScheduled) {
+            mIsTimeChangedFlushScheduled = false;
+            mHandler.removeCallbacks(mFlushTimeChangedRunnable);
+        }
+
+        mHasPendingTime = false;
+        mLastTimeChangedSecond = -1;
+        mLastTimeChangedUptime = 0;
     }
 
     void emitOnBuffering(final double buffering) {
         final WritableMap event = Arguments.createMap();
         event.putDouble(VLCVideoEvents.ON_BUFFERING_BUFFERING_PROP, buffering);
-        mEventEmitter.receiveEvent(mVideoView.getId(), VLCVideoEvents.ON_BUFFERING_EVENT, event);
+        VLCVideoEventEmitter.this.dispatch(VLCVideoEvents.ON_BUFFERING_EVENT, event);
     }
 
     void emitOnPlaying(final double duration) {
         final WritableMap event = Arguments.createMap();
         event.putDouble(VLCVideoEvents.ON_PLAYING_DURATION_PROP, duration);
-        mEventEmitter.receiveEvent(mVideoView.getId(), VLCVideoEvents.ON_PLAYING_EVENT, event);
+        VLCVideoEventEmitter.this.dispatch(VLCVideoEvents.ON_PLAYING_EVENT, event);
     }
 
     void emitOnPaused() {
-        mEventEmitter.receiveEvent(mVideoView.getId(), VLCVideoEvents.ON_PAUSED_EVENT, null);
+        VLCVideoEventEmitter.this.flushTimeChanged();
+        VLCVideoEventEmitter.this.dispatch(VLCVideoEvents.ON_PAUSED_EVENT, null);
     }
 
     void emitOnEndReached() {
-        mEventEmitter.receiveEvent(mVideoView.getId(), VLCVideoEvents.ON_END_REACHED_EVENT, null);
+        VLCVideoEventEmitter.this.flushTimeChanged();
+        VLCVideoEventEmitter.this.dispatch(VLCVideoEvents.ON_END_REACHED_EVENT, null);
     }
 
     void emitOnError(final String message, final boolean isCritical) {
         final WritableMap event = Arguments.createMap();
         event.putString(VLCVideoEvents.ON_ERROR_MESSAGE_PROP, message);
         event.putBoolean(VLCVideoEvents.ON_ERROR_IS_CRITICAL_PROP, isCritical);
-        mEventEmitter.receiveEvent(mVideoView.getId(), VLCVideoEvents.ON_ERROR_EVENT, event);
+        VLCVideoEventEmitter.this.dispatch(VLCVideoEvents.ON_ERROR_EVENT, event);
     }
 
     void emitOnTimeChanged(final double time) {
-        final WritableMap event = Arguments.createMap();
-        event.putDouble(VLCVideoEvents.ON_TIME_CHANGED_TIME_PROP, time);
-        mEventEmitter.receiveEvent(mVideoView.getId(), VLCVideoEvents.ON_TIME_CHANGED_EVENT, event);
+        mPendingTime = time;
+        mHasPendingTime = true;
+        if (mTimeUpdateWholeSeconds && (long) time / 1000 == mLastTimeChangedSecond) {
+            return;
+        }
+
+        final long elapsed = SystemClock.uptimeMillis() - mLastTimeChangedUptime;
+        if (elapsed >= mTimeUpdateInterval) {
+            VLCVideoEventEmitter.this.flushTimeChanged();
+        } else if (!mIsTimeChangedFlushScheduled) {
+            mIsTimeChangedFlushScheduled = true;
+            mHandler.postDelayed(mFlushTimeChangedRunnable, mTimeUpdateInterval - elapsed);
+        }
     }
 
     void emitOnSeekRequested(final double time) {
+        VLCVideoEventEmitter.this.flushTimeChanged();
         final WritableMap event = Arguments.createMap();
         event.putDouble(VLCVideoEvents.ON_SEEK_REQUESTED_TIME_PROP, time);
-        mEventEmitter.receiveEvent(mVideoView.getId(), VLCVideoEvents.ON_SEEK_REQUESTED_EVENT, event);
+        VLCVideoEventEmitter.this.dispatch(VLCVideoEvents.ON_SEEK_REQUESTED_EVENT, event);
     }
 
     void emitOnSeekPerformed() {
-        mEventEmitter.receiveEvent(mVideoView.getId(), VLCVideoEvents.ON_SEEK_PERFORMED_EVENT, null);
+        VLCVideoEventEmitter.this.flushTimeChanged();
+        VLCVideoEventEmitter.this.dispatch(VLCVideoEvents.ON_SEEK_PERFORMED_EVENT, null);
+    }
+
+    void emitOnPlaybackMetrics(final VLCVideoPlaybackMetrics metrics) {
+        final WritableMap event = Arguments.createMap();
+        event.putDouble(VLCVideoEvents.ON_PLAYBACK_METRICS_STARTUP_TIME_PROP, metrics.getStartupTime());
+        event.putInt(VLCVideoEvents.ON_PLAYBACK_METRICS_REBUFFER_COUNT_PROP, metrics.getRebufferCount());
+        event.putDouble(VLCVideoEvents.ON_PLAYBACK_METRICS_REBUFFER_DURATION_PROP, metrics.getRebufferDuration());
+        event.putInt(VLCVideoEvents.ON_PLAYBACK_METRICS_SEEK_COUNT_PROP, metrics.getSeekCount());
+        event.putDouble(VLCVideoEvents.ON_PLAYBACK_METRICS_AVERAGE_SEEK_LATENCY_PROP, metrics.getAverageSeekLatency());
+        event.putDouble(VLCVideoEvents.ON_PLAYBACK_METRICS_MAX_SEEK_LATENCY_PROP, metrics.getMaxSeekLatency());
+        event.putInt(VLCVideoEvents.ON_PLAYBACK_METRICS_ERROR_COUNT_PROP, metrics.getErrorCount());
+        event.putInt(VLCVideoEvents.ON_PLAYBACK_METRICS_RECOVERY_COUNT_PROP, metrics.getRecoveryCount());
+        event.putDouble(VLCVideoEvents.ON_PLAYBACK_METRICS_AVERAGE_RECOVERY_TIME_PROP, metrics.getAverageRecoveryTime());
+        event.putDouble(VLCVideoEvents.ON_PLAYBACK_METRICS_MAX_RECOVERY_TIME_PROP, metrics.getMaxRecoveryTime());
+        VLCVideoEventEmitter.this.dispatch(VLCVideoEvents.ON_PLAYBACK_METRICS_EVENT, event);
+    }
+
+    void emitOnStats(final double inputBitrate, final double demuxBitrate, final double decodedFrameRate, final double displayedFrameRate, final double droppedFrameRate, final long lostAudioBuffers, final long demuxCorrupted) {
+        final WritableMap event = Arguments.createMap();
+        event.putDouble(VLCVideoEvents.ON_STATS_INPUT_BITRATE_PROP, inputBitrate);
+        event.putDouble(VLCVideoEvents.ON_STATS_DEMUX_BITRATE_PROP, demuxBitrate);
+        event.putDouble(VLCVideoEvents.ON_STATS_DECODED_FRAME_RATE_PROP, decodedFrameRate);
+        event.putDouble(VLCVideoEvents.ON_STATS_DISPLAYED_FRAME_RATE_PROP, displayedFrameRate);
+        event.putDouble(VLCVideoEvents.ON_STATS_DROPPED_FRAME_RATE_PROP, droppedFrameRate);
+        event.putDouble(VLCVideoEvents.ON_STATS_LOST_AUDIO_BUFFERS_PROP, lostAudioBuffers);
+        event.putDouble(VLCVideoEvents.ON_STATS_DEMUX_CORRUPTED_PROP, demuxCorrupted);
+        VLCVideoEventEmitter.this.dispatch(VLCVideoEvents.ON_STATS_EVENT, event);
+    }
+
+    void emitOnThumbnail(final double time, final String uri) {
+        final WritableMap event = Arguments.createMap();
+        event.putDouble(VLCVideoEvents.ON_THUMBNAIL_TIME_PROP, time);
+        event.putString(VLCVideoEvents.ON_THUMBNAIL_URI_PROP, uri);
+        VLCVideoEventEmitter.this.dispatch(VLCVideoEvents.ON_THUMBNAIL_EVENT, event);
+    }
+
+    void emitOnRecovering(final int attempt, final double time) {
+        VLCVideoEventEmitter.this.flushTimeChanged();
+        final WritableMap event = Arguments.createMap();
+        event.putInt(VLCVideoEvents.ON_RECOVERING_ATTEMPT_PROP, attempt);
+        event.putDouble(VLCVideoEvents.ON_RECOVERING_TIME_PROP, time);
+        VLCVideoEventEmitter.this.dispatch(VLCVideoEvents.ON_RECOVERING_EVENT, event);
+    }
+
+    void emitOnMemoryTrimmed(final int level, final boolean playerReleased, final int idlePlayersReleased, final int cacheBytesReleased) {
+        final WritableMap event = Arguments.createMap();
+        event.putInt(VLCVideoEvents.ON_MEMORY_TRIMMED_LEVEL_PROP, level);
+        event.putBoolean(VLCVideoEvents.ON_MEMORY_TRIMMED_PLAYER_RELEASED_PROP, playerReleased);
+        event.putInt(VLCVideoEvents.ON_MEMORY_TRIMMED_IDLE_PLAYERS_RELEASED_PROP, idlePlayersReleased);
+        event.putInt(VLCVideoEvents.ON_MEMORY_TRIMMED_CACHE_BYTES_RELEASED_PROP, cacheBytesReleased);
+        VLCVideoEventEmitter.this.dispatch(VLCVideoEvents.ON_MEMORY_TRIMMED_EVENT, event);
+    }
+
+    private void dispatch(final String eventName, final WritableMap event) {
+        if (mEventBatchingEnabled) {
+            mEventBatcher.enqueue(mVideoView.getId(), eventName, event);
+        } else {
+            mEventEmitter.receiveEvent(mVideoView.getId(), eventName, event);
+        }
     }
 
 }
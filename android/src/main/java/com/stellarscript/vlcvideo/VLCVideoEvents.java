@@ -12,6 +12,13 @@ final class VLCVideoEvents {
     static final String ON_TIME_CHANGED_EVENT = getFullEventName("onTimeChanged");
     static final String ON_SEEK_REQUESTED_EVENT = getFullEventName("onSeekRequested");
     static final String ON_SEEK_PERFORMED_EVENT = getFullEventName("onSeekPerformed");
+    static final String ON_PLAYBACK_METRICS_EVENT = getFullEventName("onPlaybackMetrics");
+    static final String ON_STATS_EVENT = getFullEventName("onStats");
+    static final String ON_THUMBNAIL_EVENT = getFullEventName("onThumbnail");
+    static final String ON_MEMORY_TRIMMED_EVENT = getFullEventName("onMemoryTrimmed");
+    static final String ON_RECOVERING_EVENT = getFullEventName("onRecovering");
+    static final String EVENT_BATCH_EVENT = getFullEventName("EventBatch");
+    static final String AUDIO_PLAYER_EVENT = getFullEventName("AudioPlayerEvent");
 
     static final String ON_ERROR_MESSAGE_PROP = "message";
     static final String ON_ERROR_IS_CRITICAL_PROP = "isCritical";
@@ -19,6 +26,34 @@ final class VLCVideoEvents {
     static final String ON_PLAYING_DURATION_PROP = "duration";
     static final String ON_BUFFERING_BUFFERING_PROP = "buffering";
     static final String ON_SEEK_REQUESTED_TIME_PROP = "time";
+    static final String ON_PLAYBACK_METRICS_STARTUP_TIME_PROP = "startupTime";
+    static final String ON_PLAYBACK_METRICS_REBUFFER_COUNT_PROP = "rebufferCount";
+    static final String ON_PLAYBACK_METRICS_REBUFFER_DURATION_PROP = "rebufferDuration";
+    static final String ON_PLAYBACK_METRICS_SEEK_COUNT_PROP = "seekCount";
+    static final String ON_PLAYBACK_METRICS_AVERAGE_SEEK_LATENCY_PROP = "averageSeekLatency";
+    static final String ON_PLAYBACK_METRICS_MAX_SEEK_LATENCY_PROP = "maxSeekLatency";
+    static final String ON_PLAYBACK_METRICS_ERROR_COUNT_PROP = "errorCount";
+    static final String ON_PLAYBACK_METRICS_RECOVERY_COUNT_PROP = "recoveryCount";
+    static final String ON_PLAYBACK_METRICS_AVERAGE_RECOVERY_TIME_PROP = "averageRecoveryTime";
+    static final String ON_PLAYBACK_METRICS_MAX_RECOVERY_TIME_PROP = "maxRecoveryTime";
+    static final String ON_STATS_INPUT_BITRATE_PROP = "inputBitrate";
+    static final String ON_STATS_DEMUX_BITRATE_PROP = "demuxBitrate";
+    static final String ON_STATS_DECODED_FRAME_RATE_PROP = "decodedFrameRate";
+    static final String ON_STATS_DISPLAYED_FRAME_RATE_PROP = "displayedFrameRate";
+    static final String ON_STATS_DROPPED_FRAME_RATE_PROP = "droppedFrameRate";
+    static final String ON_STATS_LOST_AUDIO_BUFFERS_PROP = "lostAudioBuffers";
+    static final String ON_STATS_DEMUX_CORRUPTED_PROP = "demuxCorrupted";
+    static final String ON_THUMBNAIL_TIME_PROP = "time";
+    static final String ON_THUMBNAIL_URI_PROP = "uri";
+    static final String ON_MEMORY_TRIMMED_LEVEL_PROP = "level";
+    static final String ON_MEMORY_TRIMMED_PLAYER_RELEASED_PROP = "playerReleased";
+    static final String ON_MEMORY_TRIMMED_IDLE_PLAYERS_RELEASED_PROP = "idlePlayersReleased";
+    static final String ON_MEMORY_TRIMMED_CACHE_BYTES_RELEASED_PROP = "cacheBytesReleased";
+    static final String ON_RECOVERING_ATTEMPT_PROP = "attempt";
+    static final String ON_RECOVERING_TIME_PROP = "time";
+    static final String EVENT_BATCH_TARGET_PROP = "target";
+    static final String EVENT_BATCH_TYPE_PROP = "type";
+    static final String EVENT_BATCH_PAYLOAD_PROP = "payload";
 
     private static String getFullEventName(final String eventName) {
         return EVENT_NAME_PREFIX.concat(eventName);
@@ -0,0 +1,84 @@
+package com.stellarscript.vlcvideo;
+
+import android.app.Application;
+
+import org.videolan.libvlc.LibVLC;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+final class VLCVideoLibVLCProvider {
+
+    private static final String PREWARM_THREAD_NAME = "VLCVideoLibVLCPrewarm";
+    private static final String VERBOSE_OPTION = "--verbose";
+    private static final String QUIET_OPTION = "--quiet";
+    private static final String SHORT_VERBOSE_OPTION_PATTERN = "-v+";
+
+    private final AtomicBoolean mIsStarted;
+    private final FutureTask<LibVLC> mLibVLCTask;
+    private volatile int mLogLevel;
+
+    VLCVideoLibVLCProvider(final Application application, final ArrayList<String> libVLCOptions) {
+        mIsStarted = new AtomicBoolean(false);
+        mLogLevel = VLCVideoPackage.LOG_LEVEL_ERROR;
+        mLibVLCTask = new FutureTask<>(new Callable<LibVLC>() {
+
+            @Override
+            public LibVLC call() {
+                return new LibVLC(application, VLCVideoLibVLCProvider.this.getOptions(libVLCOptions));
+            }
+
+        });
+    }
+
+    void setLogLevel(final int logLevel) {
+        mLogLevel = logLevel;
+    }
+
+    void prewarm() {
+        if (mIsStarted.compareAndSet(false, true)) {
+            final Thread prewarmThread = new Thread(mLibVLCTask, PREWARM_THREAD_NAME);
+            prewarmThread.start();
+        }
+    }
+
+    LibVLC get() {
+        if (mIsStarted.compareAndSet(false, true)) {
+            mLibVLCTask.run();
+        }
+
+        boolean isInterrupted = false;
+        try {
+            while (true) {
+                try {
+                    return mLibVLCTask.get();
+                } catch (final InterruptedException e) {
+                    isInterrupted = true;
+                }
+            }
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("Failed to initialize LibVLC", e.getCause());
+        } finally {
+            if (isInterrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private ArrayList<String> getOptions(final ArrayList<String> libVLCOptions) {
+        final ArrayList<String> options = new ArrayList<>(libVLCOptions);
+        for (final String option : libVLCOptions) {
+            if (option.startsWith(VERBOSE_OPTION) || option.matches(SHORT_VERBOSE_OPTION_PATTERN) || option.equals(QUIET_OPTION)) {
+                return options;
+            }
+        }
+
+        options.add(MessageFormat.format("{0}={1}", VERBOSE_OPTION, String.valueOf(mLogLevel)));
+        return options;
+    }
+
+}
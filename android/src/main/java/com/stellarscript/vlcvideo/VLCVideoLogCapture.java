@@ -0,0 +1,155 @@
+package com.stellarscript.vlcvideo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+final class VLCVideoLogCapture {
+
+    static final class Entry {
+
+        private final long mSequence;
+        final long mTime;
+        final String mLevel;
+        final String mModule;
+        final String mMessage;
+
+        private Entry(final long sequence, final long time, final String level, final String module, final String message) {
+            mSequence = sequence;
+            mTime = time;
+            mLevel = level;
+            mModule = module;
+            mMessage = message;
+        }
+
+    }
+
+    static final int DEFAULT_CAPACITY = 512;
+
+    private static final String THREAD_NAME = "VLCVideoLogCapture";
+    private static final String LOG_TAG = "VLC";
+    private static final String[] LOGCAT_COMMAND = {"logcat", "-v", "threadtime", "-T", "1", "-s", LOG_TAG + ":V"};
+    private static final Pattern THREADTIME_LINE_PATTERN = Pattern.compile("^\\S+\\s+\\S+\\s+\\d+\\s+\\d+\\s+([VDIWEFA])\\s+[^:]*: (.*)$");
+    private static final String MODULE_PREFIX_START = "[";
+    private static final String MODULE_PREFIX_END = "] ";
+
+    private final int mCapacity;
+    private final AtomicReferenceArray<Entry> mEntries;
+    private final AtomicLong mWriteSequence;
+    private volatile Set<String> mModuleFilter;
+    private Process mLogcatProcess;
+
+    VLCVideoLogCapture() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    VLCVideoLogCapture(final int capacity) {
+        mCapacity = Math.max(capacity, 1);
+        mEntries = new AtomicReferenceArray<>(mCapacity);
+        mWriteSequence = new AtomicLong(0);
+        mModuleFilter = Collections.emptySet();
+    }
+
+    synchronized void start() {
+        if (mLogcatProcess != null) {
+            return;
+        }
+
+        try {
+            mLogcatProcess = Runtime.getRuntime().exec(LOGCAT_COMMAND);
+        } catch (final IOException e) {
+            e.printStackTrace();
+            return;
+        }
+
+        final Process logcatProcess = mLogcatProcess;
+        final Thread readerThread = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                VLCVideoLogCapture.this.readLogcat(logcatProcess);
+            }
+
+        }, THREAD_NAME);
+        readerThread.setDaemon(true);
+        readerThread.start();
+    }
+
+    synchronized void stop() {
+        if (mLogcatProcess != null) {
+            mLogcatProcess.destroy();
+            mLogcatProcess = null;
+        }
+    }
+
+    void setModuleFilter(final Collection<String> modules) {
+        mModuleFilter = modules != null ? Collections.unmodifiableSet(new HashSet<>(modules)) : Collections.<String>emptySet();
+    }
+
+    List<Entry> getRecentEntries(final int count) {
+        final long endSequence = mWriteSequence.get();
+        final long startSequence = Math.max(endSequence - Math.min(Math.max(count, 0), mCapacity), 0);
+        final ArrayList<Entry> entries = new ArrayList<>((int) (endSequence - startSequence));
+        for (long sequence = startSequence; sequence < endSequence; sequence++) {
+            final Entry entry = mEntries.get((int) (sequence % mCapacity));
+            if (entry != null && entry.mSequence == sequence) {
+                entries.add(entry);
+            }
+        }
+
+        return entries;
+    }
+
+    private void append(final String level, final String module, final String message) {
+        final Set<String> moduleFilter = mModuleFilter;
+        if (!moduleFilter.isEmpty() && !moduleFilter.contains(module)) {
+            return;
+        }
+
+        final long sequence = mWriteSequence.get();
+        mEntries.set((int) (sequence % mCapacity), new Entry(sequence, System.currentTimeMillis(), level, module, message));
+        mWriteSequence.set(sequence + 1);
+    }
+
+    private void readLogcat(final Process logcatProcess) {
+        try (final BufferedReader reader = new BufferedReader(new InputStreamReader(logcatProcess.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final Matcher matcher = THREADTIME_LINE_PATTERN.matcher(line);
+                if (!matcher.matches()) {
+                    continue;
+                }
+
+                final String level = matcher.group(1);
+                final String message = matcher.group(2);
+                VLCVideoLogCapture.this.append(level, VLCVideoLogCapture.getModule(message), message);
+            }
+        } catch (final IOException ignored) {
+        } finally {
+            logcatProcess.destroy();
+        }
+    }
+
+    private static String getModule(final String message) {
+        final int prefixEnd = message.startsWith(MODULE_PREFIX_START) ? message.indexOf(MODULE_PREFIX_END) : -1;
+        final int moduleEnd = prefixEnd != -1 ? message.indexOf(':', prefixEnd) : -1;
+        if (moduleEnd == -1) {
+            return "";
+        }
+
+        final String module = message.substring(prefixEnd + MODULE_PREFIX_END.length(), moduleEnd);
+        final int typeSeparatorIndex = module.lastIndexOf(' ');
+        return typeSeparatorIndex == -1 ? module : module.substring(0, typeSeparatorIndex);
+    }
+
+}
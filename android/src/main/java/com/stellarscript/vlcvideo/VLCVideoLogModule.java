@@ -0,0 +1,70 @@
+package com.stellarscript.vlcvideo;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.ArrayList;
+
+final class VLCVideoLogModule extends ReactContextBaseJavaModule {
+
+    private static final String MODULE_NAME = "VLCVideoLog";
+    private static final String TIME_PROP = "time";
+    private static final String LEVEL_PROP = "level";
+    private static final String MODULE_PROP = "module";
+    private static final String MESSAGE_PROP = "message";
+
+    private final VLCVideoLogCapture mLogCapture;
+
+    VLCVideoLogModule(final ReactApplicationContext reactApplicationContext, final VLCVideoLogCapture logCapture) {
+        super(reactApplicationContext);
+        mLogCapture = logCapture;
+    }
+
+    @Override
+    public String getName() {
+        return MODULE_NAME;
+    }
+
+    @ReactMethod
+    public void setCaptureEnabled(final boolean captureEnabled) {
+        if (captureEnabled) {
+            mLogCapture.start();
+        } else {
+            mLogCapture.stop();
+        }
+    }
+
+    @ReactMethod
+    public void setModuleFilter(final ReadableArray modules) {
+        final ArrayList<String> moduleFilter = new ArrayList<>();
+        if (modules != null) {
+            for (int index = 0; index < modules.size(); index++) {
+                moduleFilter.add(modules.getString(index));
+            }
+        }
+
+        mLogCapture.setModuleFilter(moduleFilter);
+    }
+
+    @ReactMethod
+    public void getRecentLogs(final int count, final Promise promise) {
+        final WritableArray logs = Arguments.createArray();
+        for (final VLCVideoLogCapture.Entry entry : mLogCapture.getRecentEntries(count)) {
+            final WritableMap log = Arguments.createMap();
+            log.putDouble(TIME_PROP, entry.mTime);
+            log.putString(LEVEL_PROP, entry.mLevel);
+            log.putString(MODULE_PROP, entry.mModule);
+            log.putString(MESSAGE_PROP, entry.mMessage);
+            logs.pushMap(log);
+        }
+
+        promise.resolve(logs);
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.stellarscript.vlcvideo;
+
+import org.videolan.libvlc.Media;
+
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+final class VLCVideoMediaOptions {
+
+    static final long UNSET_VALUE = -1;
+    static final VLCVideoMediaOptions DEFAULT = new VLCVideoMediaOptions(UNSET_VALUE, UNSET_VALUE, UNSET_VALUE, UNSET_VALUE, false, false, Collections.<String>emptyList());
+
+    private static final Pattern MEDIA_OPTION_PATTERN = Pattern.compile("^:([a-z0-9][a-z0-9-]*)(=[^\\r\\n]*)?$");
+    private static final String NEGATED_OPTION_PREFIX = "no-";
+    private static final String STREAM_OUTPUT_OPTION_PREFIX = "sout";
+    private static final Set<String> REJECTED_OPTION_NAMES = new HashSet<>(Arrays.asList(
+            "network-caching",
+            "file-caching",
+            "live-caching",
+            "clock-jitter",
+            "start-time",
+            "start-paused",
+            "video",
+            "avcodec-hw",
+            "adaptive-maxwidth",
+            "adaptive-maxheight",
+            "demux",
+            "input-slave"
+    ));
+    private static final long MAX_CACHING = 60000;
+    private static final long MAX_CLOCK_JITTER = 60000;
+
+    private final long mNetworkCaching;
+    private final long mFileCaching;
+    private final long mLiveCaching;
+    private final long mClockJitter;
+    private final boolean mAdaptiveCaching;
+    private final boolean mLocalCacheEnabled;
+    private final List<String> mOptions;
+
+    VLCVideoMediaOptions(final long networkCaching, final long fileCaching, final long liveCaching, final long clockJitter, final boolean adaptiveCaching, final boolean localCacheEnabled, final List<String> options) {
+        mNetworkCaching = VLCVideoMediaOptions.clamp(networkCaching, MAX_CACHING);
+        mFileCaching = VLCVideoMediaOptions.clamp(fileCaching, MAX_CACHING);
+        mLiveCaching = VLCVideoMediaOptions.clamp(liveCaching, MAX_CACHING);
+        mClockJitter = VLCVideoMediaOptions.clamp(clockJitter, MAX_CLOCK_JITTER);
+        mAdaptiveCaching = adaptiveCaching;
+        mLocalCacheEnabled = localCacheEnabled;
+        mOptions = Collections.unmodifiableList(options);
+    }
+
+    static boolean isValidOption(final String option) {
+        if (option == null) {
+            return false;
+        }
+
+        final Matcher matcher = MEDIA_OPTION_PATTERN.matcher(option);
+        if (!matcher.matches()) {
+            return false;
+        }
+
+        final String optionName = matcher.group(1);
+        final String name = optionName.startsWith(NEGATED_OPTION_PREFIX) ? optionName.substring(NEGATED_OPTION_PREFIX.length()) : optionName;
+        return !name.startsWith(STREAM_OUTPUT_OPTION_PREFIX) && !REJECTED_OPTION_NAMES.contains(name);
+    }
+
+    long getNetworkCaching() {
+        return mNetworkCaching;
+    }
+
+    boolean isAdaptiveCaching() {
+        return mAdaptiveCaching;
+    }
+
+    boolean isLocalCacheEnabled() {
+        return mLocalCacheEnabled;
+    }
+
+    void applyTo(final Media media, final long networkCaching) {
+        VLCVideoMediaOptions.addOption(media, "network-caching", networkCaching);
+        VLCVideoMediaOptions.addOption(media, "file-caching", mFileCaching);
+        VLCVideoMediaOptions.addOption(media, "live-caching", mLiveCaching);
+        VLCVideoMediaOptions.addOption(media, "clock-jitter", mClockJitter);
+        for (final String option : mOptions) {
+            media.addOption(option);
+        }
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (VLCVideoMediaOptions.this == other) {
+            return true;
+        }
+
+        if (!(other instanceof VLCVideoMediaOptions)) {
+            return false;
+        }
+
+        final VLCVideoMediaOptions otherOptions = (VLCVideoMediaOptions) other;
+        return mNetworkCaching == otherOptions.mNetworkCaching &&
+                mFileCaching == otherOptions.mFileCaching &&
+                mLiveCaching == otherOptions.mLiveCaching &&
+                mClockJitter == otherOptions.mClockJitter &&
+                mAdaptiveCaching == otherOptions.mAdaptiveCaching &&
+                mLocalCacheEnabled == otherOptions.mLocalCacheEnabled &&
+                mOptions.equals(otherOptions.mOptions);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (int) (mNetworkCaching ^ (mNetworkCaching >>> 32));
+        result = 31 * result + (int) (mFileCaching ^ (mFileCaching >>> 32));
+        result = 31 * result + (int) (mLiveCaching ^ (mLiveCaching >>> 32));
+        result = 31 * result + (int) (mClockJitter ^ (mClockJitter >>> 32));
+        result = 31 * result + (mAdaptiveCaching ? 1 : 0);
+        result = 31 * result + (mLocalCacheEnabled ? 1 : 0);
+        result = 31 * result + mOptions.hashCode();
+        return result;
+    }
+
+    private static void addOption(final Media media, final String name, final long value) {
+        if (value != UNSET_VALUE) {
+            media.addOption(MessageFormat.format(":{0}={1}", name, String.valueOf(value)));
+        }
+    }
+
+    private static long clamp(final long value, final long max) {
+        if (value < 0) {
+            return UNSET_VALUE;
+        }
+
+        return Math.min(value, max);
+    }
+
+}
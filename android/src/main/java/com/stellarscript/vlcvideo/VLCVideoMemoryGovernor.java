@@ -0,0 +1,88 @@
+package com.stellarscript.vlcvideo;
+
+import android.content.ComponentCallbacks2;
+import android.content.res.Configuration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+
+final class VLCVideoMemoryGovernor implements ComponentCallbacks2 {
+
+    private final VLCVideoPlayerPool mPlayerPool;
+    private final LinkedHashSet<VLCVideoView> mVideoViews;
+
+    VLCVideoMemoryGovernor(final VLCVideoPlayerPool playerPool) {
+        mPlayerPool = playerPool;
+        mVideoViews = new LinkedHashSet<>();
+    }
+
+    void register(final VLCVideoView videoView) {
+        mVideoViews.add(videoView);
+    }
+
+    void unregister(final VLCVideoView videoView) {
+        mVideoViews.remove(videoView);
+    }
+
+    @Override
+    public void onTrimMemory(final int level) {
+        final boolean releaseIdlePlayers;
+        final boolean releasePooledPlayers;
+        final boolean clearNotificationBitmaps;
+        switch (level) {
+            case TRIM_MEMORY_RUNNING_LOW:
+                releaseIdlePlayers = false;
+                releasePooledPlayers = false;
+                clearNotificationBitmaps = false;
+                break;
+            case TRIM_MEMORY_RUNNING_CRITICAL:
+                releaseIdlePlayers = true;
+                releasePooledPlayers = true;
+                clearNotificationBitmaps = true;
+                break;
+            case TRIM_MEMORY_UI_HIDDEN:
+                releaseIdlePlayers = false;
+                releasePooledPlayers = false;
+                clearNotificationBitmaps = false;
+                break;
+            case TRIM_MEMORY_BACKGROUND:
+                releaseIdlePlayers = false;
+                releasePooledPlayers = true;
+                clearNotificationBitmaps = false;
+                break;
+            case TRIM_MEMORY_MODERATE:
+            case TRIM_MEMORY_COMPLETE:
+                releaseIdlePlayers = true;
+                releasePooledPlayers = true;
+                clearNotificationBitmaps = false;
+                break;
+            default:
+                return;
+        }
+
+        final ArrayList<VLCVideoView> releasedViews = new ArrayList<>();
+        for (final VLCVideoView videoView : mVideoViews) {
+            videoView.trimNetworkCaching();
+            if (releaseIdlePlayers && videoView.releaseIdlePlayer()) {
+                releasedViews.add(videoView);
+            }
+        }
+
+        final int idlePlayerCount = releasePooledPlayers ? mPlayerPool.clear() : 0;
+        final int thumbnailBytes = VLCVideoThumbnailExtractor.clearMemoryCache();
+        final int notificationBitmapBytes = clearNotificationBitmaps ? VLCVideoNotificationRenderer.clearCachedBitmaps() : 0;
+        for (final VLCVideoView videoView : mVideoViews) {
+            videoView.onMemoryTrimmed(level, releasedViews.contains(videoView), idlePlayerCount, thumbnailBytes + notificationBitmapBytes);
+        }
+    }
+
+    @Override
+    public void onLowMemory() {
+        VLCVideoMemoryGovernor.this.onTrimMemory(TRIM_MEMORY_COMPLETE);
+    }
+
+    @Override
+    public void onConfigurationChanged(final Configuration configuration) {
+    }
+
+}
@@ -0,0 +1,200 @@
+package com.stellarscript.vlcvideo;
+
+import android.app.Activity;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
+import android.support.v4.app.NotificationCompat;
+import android.support.v4.app.NotificationManagerCompat;
+
+import com.facebook.react.uimanager.ThemedReactContext;
+
+final class VLCVideoNotificationRenderer {
+
+    static final String PLAY_INTENT_ACTION = "VLCVideo:Play";
+    static final String PAUSE_INTENT_ACTION = "VLCVideo:Pause";
+
+    private static final String CHANNEL_ID_RESOURCE_NAME = "react_native_vlc2_channel_id";
+    private static final String SMALL_ICON_RESOURCE_NAME = "react_native_vlc2_small_icon";
+    private static final String LARGE_ICON_RESOURCE_NAME = "react_native_vlc2_large_icon";
+    private static final String PLAY_ICON_RESOURCE_NAME = "react_native_vlc2_play_icon";
+    private static final String PAUSE_ICON_RESOURCE_NAME = "react_native_vlc2_pause_icon";
+    private static final long UPDATE_DEBOUNCE_DELAY = 200;
+
+    private static Handler sHandler;
+    private static boolean sResourcesResolved;
+    private static String sChannelId;
+    private static int sSmallIconResId;
+    private static int sLargeIconResId;
+    private static int sPlayIconResId;
+    private static int sPauseIconResId;
+    private static Bitmap sLargeIconBitmap;
+
+    private final ThemedReactContext mThemedReactContext;
+    private final int mSessionId;
+    private final Handler mHandler;
+    private Class<?> mActivityClass;
+    private NotificationCompat.Action mPlayAction;
+    private NotificationCompat.Action mPauseAction;
+    private String mTitle;
+    private boolean mIsPlaying;
+    private final Runnable mNotifyRunnable = new Runnable() {
+
+        @Override
+        public void run() {
+            VLCVideoNotificationRenderer.this.notifyPlaybackNotification();
+        }
+
+    };
+    private final Runnable mCancelRunnable = new Runnable() {
+
+        @Override
+        public void run() {
+            NotificationManagerCompat.from(mThemedReactContext).cancel(VLCVideoView.PLAYBACK_NOTIFICATION_ID);
+        }
+
+    };
+
+    VLCVideoNotificationRenderer(final ThemedReactContext themedReactContext, final int sessionId) {
+        mThemedReactContext = themedReactContext;
+        mSessionId = sessionId;
+        mHandler = VLCVideoNotificationRenderer.getHandler();
+    }
+
+    void update(final String title, final boolean isPlaying) {
+        final Activity activity = mThemedReactContext.getCurrentActivity();
+        if (activity == null) {
+            return;
+        }
+
+        synchronized (VLCVideoNotificationRenderer.this) {
+            if (activity.getClass() != mActivityClass) {
+                mActivityClass = activity.getClass();
+                mPlayAction = null;
+                mPauseAction = null;
+            }
+
+            mTitle = title != null ? title : "";
+            mIsPlaying = isPlaying;
+        }
+
+        mHandler.removeCallbacks(mCancelRunnable);
+        mHandler.removeCallbacks(mNotifyRunnable);
+        mHandler.postDelayed(mNotifyRunnable, UPDATE_DEBOUNCE_DELAY);
+    }
+
+    void cancel() {
+        mHandler.removeCallbacks(mNotifyRunnable);
+        mHandler.removeCallbacks(mCancelRunnable);
+        mHandler.post(mCancelRunnable);
+    }
+
+    static synchronized int clearCachedBitmaps() {
+        if (sLargeIconBitmap == null) {
+            return 0;
+        }
+
+        final int byteCount = sLargeIconBitmap.getByteCount();
+        sLargeIconBitmap = null;
+        sResourcesResolved = false;
+        return byteCount;
+    }
+
+    private void notifyPlaybackNotification() {
+        try {
+            final Context context = mThemedReactContext.getApplicationContext();
+            final String title;
+            final boolean isPlaying;
+            final NotificationCompat.Action action;
+            final String channelId;
+            final int smallIconResId;
+            final Bitmap largeIconBitmap;
+            synchronized (VLCVideoNotificationRenderer.class) {
+                VLCVideoNotificationRenderer.resolveResources(context);
+                channelId = sChannelId;
+                smallIconResId = sSmallIconResId;
+                largeIconBitmap = sLargeIconBitmap;
+            }
+
+            synchronized (VLCVideoNotificationRenderer.this) {
+                title = mTitle;
+                isPlaying = mIsPlaying;
+                if (isPlaying) {
+                    if (mPauseAction == null) {
+                        mPauseAction = VLCVideoNotificationRenderer.this.createAction(PAUSE_INTENT_ACTION, sPauseIconResId, "Pause");
+                    }
+
+                    action = mPauseAction;
+                } else {
+                    if (mPlayAction == null) {
+                        mPlayAction = VLCVideoNotificationRenderer.this.createAction(PLAY_INTENT_ACTION, sPlayIconResId, "Play");
+                    }
+
+                    action = mPlayAction;
+                }
+            }
+
+            final NotificationCompat.Builder notificationBuilder = new NotificationCompat.Builder(context, channelId)
+                    .setContentTitle(title)
+                    .setSmallIcon(smallIconResId)
+                    .setLargeIcon(largeIconBitmap)
+                    .setPriority(NotificationCompat.PRIORITY_DEFAULT)
+                    .setOnlyAlertOnce(true)
+                    .setAutoCancel(false)
+                    .addAction(action);
+
+            NotificationManagerCompat.from(context).notify(VLCVideoView.PLAYBACK_NOTIFICATION_ID, notificationBuilder.build());
+        } catch (final Throwable e) {
+            e.printStackTrace();
+        }
+    }
+
+    private NotificationCompat.Action createAction(final String intentAction, final int iconResId, final String title) {
+        final Intent playbackIntent = new Intent(mThemedReactContext, mActivityClass);
+        playbackIntent.setAction(intentAction);
+        playbackIntent.putExtra(VLCVideoCallbackManager.SESSION_ID_EXTRA, mSessionId);
+        return new NotificationCompat.Action.Builder(
+                iconResId,
+                title,
+                PendingIntent.getActivity(
+                        mThemedReactContext,
+                        mSessionId,
+                        playbackIntent,
+                        PendingIntent.FLAG_UPDATE_CURRENT
+                )
+        ).build();
+    }
+
+    private static void resolveResources(final Context context) {
+        if (sResourcesResolved) {
+            return;
+        }
+
+        final Resources resources = context.getResources();
+        final String packageName = context.getPackageName();
+        sChannelId = resources.getString(resources.getIdentifier(CHANNEL_ID_RESOURCE_NAME, "string", packageName));
+        sSmallIconResId = resources.getIdentifier(SMALL_ICON_RESOURCE_NAME, "drawable", packageName);
+        sLargeIconResId = resources.getIdentifier(LARGE_ICON_RESOURCE_NAME, "drawable", packageName);
+        sPlayIconResId = resources.getIdentifier(PLAY_ICON_RESOURCE_NAME, "drawable", packageName);
+        sPauseIconResId = resources.getIdentifier(PAUSE_ICON_RESOURCE_NAME, "drawable", packageName);
+        sLargeIconBitmap = BitmapFactory.decodeResource(resources, sLargeIconResId);
+        sResourcesResolved = true;
+    }
+
+    private static synchronized Handler getHandler() {
+        if (sHandler == null) {
+            final HandlerThread handlerThread = new HandlerThread(VLCVideoNotificationRenderer.class.getSimpleName(), Process.THREAD_PRIORITY_BACKGROUND);
+            handlerThread.start();
+            sHandler = new Handler(handlerThread.getLooper());
+        }
+
+        return sHandler;
+    }
+
+}
@@ -8,20 +8,29 @@ import com.facebook.react.bridge.NativeModule;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.uimanager.ViewManager;
 
-import org.videolan.libvlc.LibVLC;
-
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 
 public final class VLCVideoPackage implements ReactPackage {
 
-    private static final ArrayList<String> DEFAULT_VLC_OPTIONS = new ArrayList<>(Arrays.asList("-vvv", "--http-reconnect"));
+    public static final int LOG_LEVEL_ERROR = 0;
+    public static final int LOG_LEVEL_WARNING = 1;
+    public static final int LOG_LEVEL_DEBUG = 2;
+
+    private static final ArrayList<String> DEFAULT_VLC_OPTIONS = new ArrayList<>(Arrays.asList("--http-reconnect"));
 
     private final View.OnKeyListener mOnKeyListener;
-    private final LibVLC mLibVLC;
+    private final VLCVideoLibVLCProvider mLibVLCProvider;
     private final VLCVideoCallbackManager mCallbackManager;
+    private final VLCVideoPlayerPool mPlayerPool;
+    private final VLCVideoCacheProxy mCacheProxy;
+    private final VLCVideoResumeStore mResumeStore;
+    private final VLCVideoVisibilityTracker mVisibilityTracker;
+    private final VLCVideoLogCapture mLogCapture;
+    private final VLCVideoMemoryGovernor mMemoryGovernor;
+    private final VLCVideoViewRegistry mViewRegistry;
 
     public VLCVideoPackage(final Application application) {
         this(application, DEFAULT_VLC_OPTIONS, null, null);
@@ -52,19 +61,66 @@ public final class VLCVideoPackage implements ReactPackage {
     }
 
     public VLCVideoPackage(final Application application, final ArrayList<String> libVLCOptions, final View.OnKeyListener onKeyListener, final VLCVideoCallbackManager callbackManager) {
-        mLibVLC = new LibVLC(application, libVLCOptions);
+        mLibVLCProvider = new VLCVideoLibVLCProvider(application, libVLCOptions);
         mOnKeyListener = onKeyListener;
         mCallbackManager = callbackManager;
+        mPlayerPool = new VLCVideoPlayerPool(mLibVLCProvider);
+        mCacheProxy = new VLCVideoCacheProxy(new File(application.getCacheDir(), VLCVideoCacheProxy.CACHE_DIRECTORY_NAME));
+        mResumeStore = new VLCVideoResumeStore(new File(application.getFilesDir(), VLCVideoResumeStore.FILE_NAME));
+        mVisibilityTracker = new VLCVideoVisibilityTracker();
+        mLogCapture = new VLCVideoLogCapture();
+        mMemoryGovernor = new VLCVideoMemoryGovernor(mPlayerPool);
+        application.registerComponentCallbacks(mMemoryGovernor);
+        mViewRegistry = new VLCVideoViewRegistry();
+    }
+
+    public void prewarmLibVLC() {
+        mLibVLCProvider.prewarm();
+    }
+
+    public VLCVideoPackage setPlayerPoolMaxSize(final int maxSize) {
+        mPlayerPool.setMaxSize(maxSize);
+        return VLCVideoPackage.this;
+    }
+
+    public VLCVideoPackage setPlayerPoolIdleTimeout(final long idleTimeout) {
+        mPlayerPool.setIdleTimeout(idleTimeout);
+        return VLCVideoPackage.this;
+    }
+
+    public VLCVideoPackage setLocalCacheMaxSize(final long maxSize) {
+        mCacheProxy.setMaxSize(maxSize);
+        return VLCVideoPackage.this;
+    }
+
+    public VLCVideoPackage setMaxActivePlayers(final int maxActivePlayers) {
+        mVisibilityTracker.setMaxActivePlayers(maxActivePlayers);
+        return VLCVideoPackage.this;
+    }
+
+    public VLCVideoPackage setLogLevel(final int logLevel) {
+        mLibVLCProvider.setLogLevel(logLevel);
+        return VLCVideoPackage.this;
+    }
+
+    public VLCVideoPackage setLogCaptureEnabled(final boolean logCaptureEnabled) {
+        if (logCaptureEnabled) {
+            mLogCapture.start();
+        } else {
+            mLogCapture.stop();
+        }
+
+        return VLCVideoPackage.this;
     }
 
     @Override
     public List<NativeModule> createNativeModules(final ReactApplicationContext reactApplicationContext) {
-        return Collections.emptyList();
+        return Arrays.<NativeModule>asList(new VLCVideoLogModule(reactApplicationContext, mLogCapture), new VLCVideoAudioModule(reactApplicationContext, mLibVLCProvider, mPlayerPool, mCacheProxy), new VLCVideoStateModule(reactApplicationContext, mViewRegistry));
     }
 
     @Override
     public List<ViewManager> createViewManagers(final ReactApplicationContext reactApplicationContext) {
-        return Arrays.<ViewManager>asList(new VLCVideoViewManager(mOnKeyListener, mLibVLC, mCallbackManager));
+        return Arrays.<ViewManager>asList(new VLCVideoViewManager(mOnKeyListener, mLibVLCProvider, mCallbackManager, mPlayerPool, mCacheProxy, mResumeStore, mVisibilityTracker, mMemoryGovernor, mViewRegistry));
     }
 
 }
@@ -0,0 +1,185 @@
+package com.stellarscript.vlcvideo;
+
+import android.os.SystemClock;
+
+final class VLCVideoPlaybackMetrics {
+
+    private boolean mIsSessionActive;
+    private long mLoadTime;
+    private long mStartupTime = -1;
+    private long mStallStartTime = -1;
+    private boolean mIsFilling;
+    private int mRebufferCount;
+    private long mRebufferDuration;
+    private long mSeekRequestTime = -1;
+    private int mSeekCount;
+    private long mTotalSeekLatency;
+    private long mMaxSeekLatency;
+    private int mErrorCount;
+    private int mRecoveryCount;
+    private long mTotalRecoveryTime;
+    private long mMaxRecoveryTime;
+
+    void startSession() {
+        VLCVideoPlaybackMetrics.this.reset();
+        mIsSessionActive = true;
+        mIsFilling = true;
+        mLoadTime = SystemClock.elapsedRealtime();
+    }
+
+    void startPrebufferedSession() {
+        VLCVideoPlaybackMetrics.this.startSession();
+        mIsFilling = false;
+    }
+
+    void endSession() {
+        VLCVideoPlaybackMetrics.this.onStallEnded(SystemClock.elapsedRealtime());
+        mIsSessionActive = false;
+    }
+
+    boolean isSessionActive() {
+        return mIsSessionActive;
+    }
+
+    void onPlaying() {
+        final long now = SystemClock.elapsedRealtime();
+        if (mIsSessionActive && mStartupTime < 0 && !mIsFilling) {
+            mStartupTime = now - mLoadTime;
+        }
+
+        VLCVideoPlaybackMetrics.this.onStallEnded(now);
+    }
+
+    void onBuffering(final double buffering) {
+        if (!mIsSessionActive) {
+            return;
+        }
+
+        final long now = SystemClock.elapsedRealtime();
+        if (mIsFilling) {
+            if (buffering >= 100) {
+                mIsFilling = false;
+                if (mStartupTime < 0) {
+                    mStartupTime = now - mLoadTime;
+                }
+            }
+        } else if (buffering < 100) {
+            if (mStallStartTime < 0 && mSeekRequestTime < 0) {
+                mStallStartTime = now;
+                mRebufferCount++;
+            }
+        } else {
+            VLCVideoPlaybackMetrics.this.onStallEnded(now);
+        }
+    }
+
+    void onReopen() {
+        VLCVideoPlaybackMetrics.this.onStallEnded(SystemClock.elapsedRealtime());
+        mIsFilling = true;
+    }
+
+    void onSeekRequested() {
+        if (mIsSessionActive) {
+            VLCVideoPlaybackMetrics.this.onStallEnded(SystemClock.elapsedRealtime());
+            mSeekRequestTime = SystemClock.elapsedRealtime();
+        }
+    }
+
+    void onSeekPerformed() {
+        if (mSeekRequestTime < 0) {
+            return;
+        }
+
+        final long seekLatency = SystemClock.elapsedRealtime() - mSeekRequestTime;
+        mSeekRequestTime = -1;
+        mSeekCount++;
+        mTotalSeekLatency += seekLatency;
+        mMaxSeekLatency = Math.max(mMaxSeekLatency, seekLatency);
+    }
+
+    void onError() {
+        if (mIsSessionActive) {
+            mErrorCount++;
+        }
+    }
+
+    void onRecovered(final long recoveryTime) {
+        if (!mIsSessionActive) {
+            return;
+        }
+
+        mRecoveryCount++;
+        mTotalRecoveryTime += recoveryTime;
+        mMaxRecoveryTime = Math.max(mMaxRecoveryTime, recoveryTime);
+    }
+
+    long getStartupTime() {
+        return mStartupTime;
+    }
+
+    int getRebufferCount() {
+        return mRebufferCount;
+    }
+
+    long getRebufferDuration() {
+        if (mStallStartTime >= 0) {
+            return mRebufferDuration + SystemClock.elapsedRealtime() - mStallStartTime;
+        }
+
+        return mRebufferDuration;
+    }
+
+    int getSeekCount() {
+        return mSeekCount;
+    }
+
+    long getAverageSeekLatency() {
+        return mSeekCount > 0 ? mTotalSeekLatency / mSeekCount : 0;
+    }
+
+    long getMaxSeekLatency() {
+        return mMaxSeekLatency;
+    }
+
+    int getErrorCount() {
+        return mErrorCount;
+    }
+
+    int getRecoveryCount() {
+        return mRecoveryCount;
+    }
+
+    long getAverageRecoveryTime() {
+        return mRecoveryCount > 0 ? mTotalRecoveryTime / mRecoveryCount : 0;
+    }
+
+    long getMaxRecoveryTime() {
+        return mMaxRecoveryTime;
+    }
+
+    private void onStallEnded(final long now) {
+        if (mStallStartTime >= 0) {
+            mRebufferDuration += now - mStallStartTime;
+            mStallStartTime = -1;
+        }
+    }
+
+    private void reset() {
+        mIsSessionActive = false;
+        mLoadTime = 0;
+        mStartupTime = -1;
+        mStallStartTime = -1;
+        mIsFilling = false;
+        mRebufferCount = 0;
+        mRebufferDuration = 0;
+        mSeekRequestTime = -1;
+        mSeekCount = 0;
+        mTotalSeekLatency = 0;
+        mMaxSeekLatency = 0;
+        mErrorCount = 0;
+        mRecoveryCount = 0;
+        mTotalRecoveryTime = 0;
+        mMaxRecoveryTime = 0;
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.stellarscript.vlcvideo;
+
+final class VLCVideoPlaybackState {
+
+    static final String IDLE = "idle";
+    static final String OPENING = "opening";
+    static final String BUFFERING = "buffering";
+    static final String PLAYING = "playing";
+    static final String PAUSED = "paused";
+    static final String STOPPED = "stopped";
+    static final String ENDED = "ended";
+    static final String ERROR = "error";
+
+    static final VLCVideoPlaybackState INITIAL = new VLCVideoPlaybackState(IDLE, 0, 0, 0f, false, 1f);
+
+    private final String mState;
+    private final long mTime;
+    private final long mLength;
+    private final float mBuffering;
+    private final boolean mSeekable;
+    private final float mRate;
+
+    private VLCVideoPlaybackState(final String state, final long time, final long length, final float buffering, final boolean seekable, final float rate) {
+        mState = state;
+        mTime = time;
+        mLength = length;
+        mBuffering = buffering;
+        mSeekable = seekable;
+        mRate = rate;
+    }
+
+    String getState() {
+        return mState;
+    }
+
+    long getTime() {
+        return mTime;
+    }
+
+    long getLength() {
+        return mLength;
+    }
+
+    float getBuffering() {
+        return mBuffering;
+    }
+
+    boolean isSeekable() {
+        return mSeekable;
+    }
+
+    float getRate() {
+        return mRate;
+    }
+
+    VLCVideoPlaybackState withState(final String state) {
+        return new VLCVideoPlaybackState(state, mTime, mLength, mBuffering, mSeekable, mRate);
+    }
+
+    VLCVideoPlaybackState withTime(final long time) {
+        return new VLCVideoPlaybackState(mState, time, mLength, mBuffering, mSeekable, mRate);
+    }
+
+    VLCVideoPlaybackState withBuffering(final String state, final float buffering) {
+        return new VLCVideoPlaybackState(state, mTime, mLength, buffering, mSeekable, mRate);
+    }
+
+    VLCVideoPlaybackState withPlaying(final long length, final boolean seekable, final float rate) {
+        return new VLCVideoPlaybackState(PLAYING, mTime, length, mBuffering, seekable, rate);
+    }
+
+    VLCVideoPlaybackState withLength(final long length) {
+        return new VLCVideoPlaybackState(mState, mTime, length, mBuffering, mSeekable, mRate);
+    }
+
+    VLCVideoPlaybackState withSeekable(final boolean seekable) {
+        return new VLCVideoPlaybackState(mState, mTime, mLength, mBuffering, seekable, mRate);
+    }
+
+}
@@ -0,0 +1,210 @@
+package com.stellarscript.vlcvideo;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import org.videolan.libvlc.IVLCVout;
+import org.videolan.libvlc.MediaPlayer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+
+final class VLCVideoPlayerPool {
+
+    static final int DEFAULT_MAX_SIZE = 2;
+    static final long DEFAULT_IDLE_TIMEOUT = 30000;
+
+    private static final String RELEASE_THREAD_NAME = "VLCVideoPlayerRelease";
+
+    private static final class IdlePlayer {
+
+        private final MediaPlayer mMediaPlayer;
+        private final long mIdleSince;
+
+        private IdlePlayer(final MediaPlayer mediaPlayer, final long idleSince) {
+            mMediaPlayer = mediaPlayer;
+            mIdleSince = idleSince;
+        }
+
+    }
+
+    private final VLCVideoLibVLCProvider mLibVLCProvider;
+    private final Handler mHandler;
+    private final ArrayDeque<IdlePlayer> mIdlePlayers;
+    private int mMaxSize;
+    private long mIdleTimeout;
+    private final Runnable mEvictRunnable = new Runnable() {
+
+        @Override
+        public void run() {
+            VLCVideoPlayerPool.this.evictIdlePlayers();
+        }
+
+    };
+
+    VLCVideoPlayerPool(final VLCVideoLibVLCProvider libVLCProvider) {
+        this(libVLCProvider, DEFAULT_MAX_SIZE, DEFAULT_IDLE_TIMEOUT);
+    }
+
+    VLCVideoPlayerPool(final VLCVideoLibVLCProvider libVLCProvider, final int maxSize, final long idleTimeout) {
+        mLibVLCProvider = libVLCProvider;
+        mHandler = new Handler(Looper.getMainLooper());
+        mIdlePlayers = new ArrayDeque<>();
+        mMaxSize = Math.max(maxSize, 0);
+        mIdleTimeout = Math.max(idleTimeout, 0);
+    }
+
+    void setMaxSize(final int maxSize) {
+        final ArrayList<MediaPlayer> releasedPlayers = new ArrayList<>();
+        synchronized (VLCVideoPlayerPool.this) {
+            mMaxSize = Math.max(maxSize, 0);
+            while (mIdlePlayers.size() > mMaxSize) {
+                releasedPlayers.add(mIdlePlayers.pollLast().mMediaPlayer);
+            }
+        }
+
+        VLCVideoPlayerPool.releasePlayersAsync(releasedPlayers);
+    }
+
+    void setIdleTimeout(final long idleTimeout) {
+        synchronized (VLCVideoPlayerPool.this) {
+            mIdleTimeout = Math.max(idleTimeout, 0);
+        }
+
+        VLCVideoPlayerPool.this.evictIdlePlayers();
+    }
+
+    MediaPlayer acquire() {
+        synchronized (VLCVideoPlayerPool.this) {
+            while (!mIdlePlayers.isEmpty()) {
+                final MediaPlayer mediaPlayer = mIdlePlayers.pollFirst().mMediaPlayer;
+                if (!mediaPlayer.isReleased()) {
+                    return mediaPlayer;
+                }
+            }
+        }
+
+        return new MediaPlayer(mLibVLCProvider.get());
+    }
+
+    void recycle(final MediaPlayer mediaPlayer) {
+        if (mediaPlayer == null || mediaPlayer.isReleased()) {
+            return;
+        }
+
+        final boolean isPoolingEnabled;
+        synchronized (VLCVideoPlayerPool.this) {
+            isPoolingEnabled = mMaxSize > 0;
+        }
+
+        if (!isPoolingEnabled || !VLCVideoPlayerPool.resetPlayer(mediaPlayer)) {
+            VLCVideoPlayerPool.releasePlayer(mediaPlayer);
+            return;
+        }
+
+        final MediaPlayer evictedPlayer;
+        synchronized (VLCVideoPlayerPool.this) {
+            if (mMaxSize == 0) {
+                evictedPlayer = mediaPlayer;
+            } else {
+                evictedPlayer = mIdlePlayers.size() >= mMaxSize ? mIdlePlayers.pollLast().mMediaPlayer : null;
+                mIdlePlayers.offerFirst(new IdlePlayer(mediaPlayer, SystemClock.uptimeMillis()));
+                VLCVideoPlayerPool.this.scheduleEviction();
+            }
+        }
+
+        if (evictedPlayer != null) {
+            VLCVideoPlayerPool.releasePlayer(evictedPlayer);
+        }
+    }
+
+    int clear() {
+        final ArrayList<MediaPlayer> releasedPlayers;
+        synchronized (VLCVideoPlayerPool.this) {
+            mHandler.removeCallbacks(mEvictRunnable);
+            releasedPlayers = new ArrayList<>(mIdlePlayers.size());
+            while (!mIdlePlayers.isEmpty()) {
+                releasedPlayers.add(mIdlePlayers.pollFirst().mMediaPlayer);
+            }
+        }
+
+        VLCVideoPlayerPool.releasePlayersAsync(releasedPlayers);
+        return releasedPlayers.size();
+    }
+
+    private void evictIdlePlayers() {
+        final ArrayList<MediaPlayer> releasedPlayers = new ArrayList<>();
+        synchronized (VLCVideoPlayerPool.this) {
+            final long now = SystemClock.uptimeMillis();
+            final Iterator<IdlePlayer> iterator = mIdlePlayers.iterator();
+            while (iterator.hasNext()) {
+                final IdlePlayer idlePlayer = iterator.next();
+                if (now - idlePlayer.mIdleSince >= mIdleTimeout) {
+                    iterator.remove();
+                    releasedPlayers.add(idlePlayer.mMediaPlayer);
+                }
+            }
+
+            VLCVideoPlayerPool.this.scheduleEviction();
+        }
+
+        VLCVideoPlayerPool.releasePlayersAsync(releasedPlayers);
+    }
+
+    private void scheduleEviction() {
+        mHandler.removeCallbacks(mEvictRunnable);
+        final IdlePlayer oldestIdlePlayer = mIdlePlayers.peekLast();
+        if (oldestIdlePlayer != null) {
+            final long delay = oldestIdlePlayer.mIdleSince + mIdleTimeout - SystemClock.uptimeMillis();
+            mHandler.postDelayed(mEvictRunnable, Math.max(delay, 0));
+        }
+    }
+
+    private static boolean resetPlayer(final MediaPlayer mediaPlayer) {
+        try {
+            mediaPlayer.setEventListener(null);
+            mediaPlayer.stop();
+            final IVLCVout vout = mediaPlayer.getVLCVout();
+            if (vout.areViewsAttached()) {
+                vout.detachViews();
+            }
+
+            mediaPlayer.setRate(1f);
+            return true;
+        } catch (final Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private static void releasePlayersAsync(final ArrayList<MediaPlayer> mediaPlayers) {
+        if (mediaPlayers.isEmpty()) {
+            return;
+        }
+
+        final Thread releaseThread = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                for (final MediaPlayer mediaPlayer : mediaPlayers) {
+                    VLCVideoPlayerPool.releasePlayer(mediaPlayer);
+                }
+            }
+
+        }, RELEASE_THREAD_NAME);
+        releaseThread.start();
+    }
+
+    private static void releasePlayer(final MediaPlayer mediaPlayer) {
+        try {
+            mediaPlayer.setEventListener(null);
+            mediaPlayer.stop();
+            mediaPlayer.release();
+        } catch (final Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+}
@@ -5,17 +5,54 @@ final class VLCVideoProps {
     static final String MEDIA_PROP = "media";
     static final String MEDIA_SOURCE_URL_PROP = "sourceUrl";
     static final String MEDIA_START_TIME_PROP = "startTime";
-    static final int MEDIA_START_TIME_DEFAULT_VALUE = 0;
+    static final int MEDIA_START_TIME_DEFAULT_VALUE = -1;
     static final String MEDIA_AUTOPLAY_PROP = "autoplay";
     static final boolean MEDIA_AUTOPLAY_DEFAULT_VALUE = true;
     static final String MEDIA_HW_DECODER_ENABLED_PROP = "hwDecoderEnabled";
     static final boolean MEDIA_HW_DECODER_ENABLED_DEFAULT_VALUE = true;
     static final String MEDIA_TITLE_PROP = "title";
+    static final String MEDIA_RESUME_KEY_PROP = "resumeKey";
     static final String MEDIA_TITLE_DEFAULT_VALUE = "";
+    static final String MEDIA_NETWORK_CACHING_PROP = "networkCaching";
+    static final String MEDIA_FILE_CACHING_PROP = "fileCaching";
+    static final String MEDIA_LIVE_CACHING_PROP = "liveCaching";
+    static final String MEDIA_CLOCK_JITTER_PROP = "clockJitter";
+    static final String MEDIA_ADAPTIVE_CACHING_PROP = "adaptiveCaching";
+    static final boolean MEDIA_ADAPTIVE_CACHING_DEFAULT_VALUE = false;
+    static final String MEDIA_LOCAL_CACHE_ENABLED_PROP = "localCacheEnabled";
+    static final boolean MEDIA_LOCAL_CACHE_ENABLED_DEFAULT_VALUE = false;
+    static final String MEDIA_OPTIONS_PROP = "mediaOptions";
+    static final String NEXT_MEDIA_PROP = "nextMedia";
+    static final long NEXT_MEDIA_NETWORK_CACHING_DEFAULT_VALUE = 1000;
     static final String KEY_CONTROL_ENABLED_PROP = "keyControlEnabled";
     static final boolean KEY_CONTROL_ENABLED_DEFAULT_VALUE = false;
     static final String PLAY_IN_BACKGROUND_PROP = "playInBackground";
     static final boolean PLAY_IN_BACKGROUND_DEFAULT_VALUE = false;
+    static final String AUDIO_ONLY_IN_BACKGROUND_PROP = "audioOnlyInBackground";
+    static final boolean AUDIO_ONLY_IN_BACKGROUND_DEFAULT_VALUE = false;
+    static final String TIME_UPDATE_INTERVAL_PROP = "timeUpdateInterval";
+    static final int TIME_UPDATE_INTERVAL_DEFAULT_VALUE = 0;
+    static final String TIME_UPDATE_WHOLE_SECONDS_PROP = "timeUpdateWholeSeconds";
+    static final boolean TIME_UPDATE_WHOLE_SECONDS_DEFAULT_VALUE = false;
+    static final String STATS_INTERVAL_PROP = "statsInterval";
+    static final int STATS_INTERVAL_DEFAULT_VALUE = 0;
+    static final String THUMBNAIL_DISK_CACHE_ENABLED_PROP = "thumbnailDiskCacheEnabled";
+    static final boolean THUMBNAIL_DISK_CACHE_ENABLED_DEFAULT_VALUE = false;
+    static final String EVENT_BATCHING_ENABLED_PROP = "eventBatchingEnabled";
+    static final boolean EVENT_BATCHING_ENABLED_DEFAULT_VALUE = false;
+    static final String SIZE_AWARE_QUALITY_ENABLED_PROP = "sizeAwareQualityEnabled";
+    static final boolean SIZE_AWARE_QUALITY_ENABLED_DEFAULT_VALUE = false;
+    static final String OFFSCREEN_BEHAVIOR_PROP = "offscreenBehavior";
+    static final String OFFSCREEN_BEHAVIOR_NONE = "none";
+    static final String OFFSCREEN_BEHAVIOR_PAUSE = "pause";
+    static final String OFFSCREEN_BEHAVIOR_SUSPEND_VIDEO = "suspendVideo";
+    static final String OFFSCREEN_BEHAVIOR_DEFAULT_VALUE = OFFSCREEN_BEHAVIOR_NONE;
+    static final String VISIBILITY_THRESHOLD_PROP = "visibilityThreshold";
+    static final float VISIBILITY_THRESHOLD_DEFAULT_VALUE = 0.5f;
+    static final String RESUME_INTERVAL_PROP = "resumeInterval";
+    static final int RESUME_INTERVAL_DEFAULT_VALUE = 0;
+    static final String STALL_TIMEOUT_PROP = "stallTimeout";
+    static final int STALL_TIMEOUT_DEFAULT_VALUE = 0;
 
     static final String PLAY_COMMAND_NAME = "play";
     static final int PLAY_COMMAND_ID = 1;
@@ -24,5 +61,12 @@ final class VLCVideoProps {
     static final String SEEK_COMMAND_NAME = "seek";
     static final int SEEK_COMMAND_ID = 3;
     static final int SEEK_COMMAND_TIME_ARGUMENT_INDEX = 0;
+    static final String SWITCH_TO_NEXT_MEDIA_COMMAND_NAME = "switchToNextMedia";
+    static final int SWITCH_TO_NEXT_MEDIA_COMMAND_ID = 4;
+    static final String REQUEST_PLAYBACK_METRICS_COMMAND_NAME = "requestPlaybackMetrics";
+    static final int REQUEST_PLAYBACK_METRICS_COMMAND_ID = 5;
+    static final String REQUEST_THUMBNAIL_COMMAND_NAME = "requestThumbnail";
+    static final int REQUEST_THUMBNAIL_COMMAND_ID = 6;
+    static final int REQUEST_THUMBNAIL_COMMAND_TIME_ARGUMENT_INDEX = 0;
 
 }
@@ -0,0 +1,225 @@
+package com.stellarscript.vlcvideo;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+final class VLCVideoResumeStore {
+
+    static final String FILE_NAME = "VLCVideoResumePositions";
+    static final long UNSET_TIME = -1;
+
+    private static final String THREAD_NAME = "VLCVideoResumeStore";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    private static final char RECORD_SEPARATOR = ' ';
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final long FLUSH_DELAY = 5000;
+    private static final int MAX_ENTRIES = 1000;
+    private static final int COMPACT_MIN_RECORDS = 256;
+    private static final int COMPACT_RECORDS_PER_ENTRY = 4;
+
+    private final File mFile;
+    private final Object mFileLock;
+    private final LinkedHashMap<String, Long> mPositions;
+    private final LinkedHashMap<String, Long> mPendingRecords;
+    private volatile boolean mIsLoaded;
+    private int mRecordCount;
+    private Handler mHandler;
+    private final Runnable mFlushRunnable = new Runnable() {
+
+        @Override
+        public void run() {
+            VLCVideoResumeStore.this.flush();
+        }
+
+    };
+
+    VLCVideoResumeStore(final File file) {
+        mFile = file;
+        mFileLock = new Object();
+        mPositions = new LinkedHashMap<>();
+        mPendingRecords = new LinkedHashMap<>();
+    }
+
+    long get(final String mediaKey) {
+        VLCVideoResumeStore.this.load();
+        final String key = VLCVideoCacheKeys.sha1(mediaKey);
+        synchronized (VLCVideoResumeStore.this) {
+            final Long pendingTime = mPendingRecords.get(key);
+            final Long time = pendingTime != null ? pendingTime : mPositions.get(key);
+            return time != null ? time : UNSET_TIME;
+        }
+    }
+
+    void put(final String mediaKey, final long time) {
+        if (time <= 0) {
+            VLCVideoResumeStore.this.remove(mediaKey);
+            return;
+        }
+
+        final String key = VLCVideoCacheKeys.sha1(mediaKey);
+        synchronized (VLCVideoResumeStore.this) {
+            mPendingRecords.remove(key);
+            mPendingRecords.put(key, time);
+            VLCVideoResumeStore.this.scheduleFlush();
+        }
+    }
+
+    void remove(final String mediaKey) {
+        final String key = VLCVideoCacheKeys.sha1(mediaKey);
+        synchronized (VLCVideoResumeStore.this) {
+            mPendingRecords.remove(key);
+            mPendingRecords.put(key, UNSET_TIME);
+            VLCVideoResumeStore.this.scheduleFlush();
+        }
+    }
+
+    void flush() {
+        VLCVideoResumeStore.this.load();
+        synchronized (mFileLock) {
+            final LinkedHashMap<String, Long> records;
+            final LinkedHashMap<String, Long> positions;
+            synchronized (VLCVideoResumeStore.this) {
+                if (mHandler != null) {
+                    mHandler.removeCallbacks(mFlushRunnable);
+                }
+
+                if (mPendingRecords.isEmpty()) {
+                    return;
+                }
+
+                records = new LinkedHashMap<>(mPendingRecords);
+                mPendingRecords.clear();
+                for (final Map.Entry<String, Long> record : records.entrySet()) {
+                    mPositions.remove(record.getKey());
+                    if (record.getValue() != UNSET_TIME) {
+                        mPositions.put(record.getKey(), record.getValue());
+                    }
+                }
+
+                final Iterator<Map.Entry<String, Long>> iterator = mPositions.entrySet().iterator();
+                while (mPositions.size() > MAX_ENTRIES && iterator.hasNext()) {
+                    final String evictedKey = iterator.next().getKey();
+                    iterator.remove();
+                    records.put(evictedKey, UNSET_TIME);
+                }
+
+                final boolean shouldCompact = mRecordCount + records.size() > Math.max(COMPACT_MIN_RECORDS, mPositions.size() * COMPACT_RECORDS_PER_ENTRY);
+                positions = shouldCompact ? new LinkedHashMap<>(mPositions) : null;
+            }
+
+            if (positions != null) {
+                VLCVideoResumeStore.this.compact(positions);
+            } else {
+                VLCVideoResumeStore.this.append(records);
+            }
+        }
+    }
+
+    private void scheduleFlush() {
+        if (mHandler == null) {
+            final HandlerThread handlerThread = new HandlerThread(THREAD_NAME);
+            handlerThread.start();
+            mHandler = new Handler(handlerThread.getLooper());
+        }
+
+        mHandler.removeCallbacks(mFlushRunnable);
+        mHandler.postDelayed(mFlushRunnable, FLUSH_DELAY);
+    }
+
+    private void load() {
+        if (mIsLoaded) {
+            return;
+        }
+
+        synchronized (mFileLock) {
+            if (mIsLoaded) {
+                return;
+            }
+
+            final LinkedHashMap<String, Long> positions = new LinkedHashMap<>();
+            if (mFile.isFile()) {
+                try (final BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(mFile), UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        final int separatorIndex = line.indexOf(RECORD_SEPARATOR);
+                        if (separatorIndex <= 0) {
+                            continue;
+                        }
+
+                        final String key = line.substring(0, separatorIndex);
+                        final long time;
+                        try {
+                            time = Long.parseLong(line.substring(separatorIndex + 1));
+                        } catch (final NumberFormatException e) {
+                            continue;
+                        }
+
+                        mRecordCount++;
+                        positions.remove(key);
+                        if (time != UNSET_TIME) {
+                            positions.put(key, time);
+                        }
+                    }
+                } catch (final IOException e) {
+                    e.printStackTrace();
+                }
+            }
+
+            synchronized (VLCVideoResumeStore.this) {
+                mPositions.putAll(positions);
+            }
+
+            mIsLoaded = true;
+        }
+    }
+
+    private void append(final Map<String, Long> records) {
+        try (final Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(mFile, true), UTF_8))) {
+            VLCVideoResumeStore.writeRecords(writer, records);
+            mRecordCount += records.size();
+        } catch (final IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void compact(final Map<String, Long> positions) {
+        final File tempFile = new File(mFile.getPath() + TEMP_FILE_SUFFIX);
+        try (final Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tempFile), UTF_8))) {
+            VLCVideoResumeStore.writeRecords(writer, positions);
+        } catch (final IOException e) {
+            e.printStackTrace();
+            tempFile.delete();
+            return;
+        }
+
+        if (tempFile.renameTo(mFile)) {
+            mRecordCount = positions.size();
+        } else {
+            tempFile.delete();
+        }
+    }
+
+    private static void writeRecords(final Writer writer, final Map<String, Long> records) throws IOException {
+        for (final Map.Entry<String, Long> record : records.entrySet()) {
+            writer.write(record.getKey());
+            writer.write(RECORD_SEPARATOR);
+            writer.write(String.valueOf(record.getValue()));
+            writer.write('\n');
+        }
+    }
+
+}
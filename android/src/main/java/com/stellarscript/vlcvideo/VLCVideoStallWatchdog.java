@@ -0,0 +1,125 @@
+package com.stellarscript.vlcvideo;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+final class VLCVideoStallWatchdog {
+
+    interface Listener {
+
+        void onStalled(int attempt);
+
+        void onRecovered(long recoveryTime);
+
+        void onRecoveryFailed();
+
+    }
+
+    private static final int MAX_ATTEMPTS = 10;
+    private static final int MAX_BACKOFF_SHIFT = 6;
+    private static final long MAX_BACKOFF_DELAY = 60000;
+
+    private final Listener mListener;
+    private final Handler mHandler;
+    private long mTimeout;
+    private boolean mIsArmed;
+    private long mLastTime = -1;
+    private long mLastProgressTime;
+    private long mOutageStartTime = -1;
+    private int mAttempt;
+    private final Runnable mStallRunnable = new Runnable() {
+
+        @Override
+        public void run() {
+            VLCVideoStallWatchdog.this.onStallTimeout();
+        }
+
+    };
+
+    VLCVideoStallWatchdog(final Listener listener) {
+        mListener = listener;
+        mHandler = new Handler(Looper.getMainLooper());
+    }
+
+    void setTimeout(final int timeout) {
+        mTimeout = Math.max(timeout, 0);
+        if (mTimeout == 0) {
+            VLCVideoStallWatchdog.this.stop();
+        } else if (mIsArmed && mOutageStartTime < 0) {
+            VLCVideoStallWatchdog.this.schedule(mTimeout);
+        }
+    }
+
+    boolean isRecovering() {
+        return mOutageStartTime >= 0;
+    }
+
+    void onPlaying() {
+        if (mTimeout <= 0 || mOutageStartTime >= 0) {
+            return;
+        }
+
+        mIsArmed = true;
+        mLastProgressTime = SystemClock.elapsedRealtime();
+        VLCVideoStallWatchdog.this.schedule(mTimeout);
+    }
+
+    void onTimeChanged(final long time) {
+        if (!mIsArmed || time == mLastTime) {
+            return;
+        }
+
+        mLastTime = time;
+        mLastProgressTime = SystemClock.elapsedRealtime();
+        if (mOutageStartTime >= 0) {
+            final long recoveryTime = mLastProgressTime - mOutageStartTime;
+            mOutageStartTime = -1;
+            mAttempt = 0;
+            mListener.onRecovered(recoveryTime);
+        }
+
+        VLCVideoStallWatchdog.this.schedule(mTimeout);
+    }
+
+    void postpone() {
+        if (mIsArmed && mOutageStartTime < 0) {
+            mLastProgressTime = SystemClock.elapsedRealtime();
+            VLCVideoStallWatchdog.this.schedule(mTimeout);
+        }
+    }
+
+    void stop() {
+        mHandler.removeCallbacks(mStallRunnable);
+        mIsArmed = false;
+        mLastTime = -1;
+        mOutageStartTime = -1;
+        mAttempt = 0;
+    }
+
+    private void schedule(final long delay) {
+        mHandler.removeCallbacks(mStallRunnable);
+        mHandler.postDelayed(mStallRunnable, delay);
+    }
+
+    private void onStallTimeout() {
+        if (!mIsArmed) {
+            return;
+        }
+
+        if (mAttempt >= MAX_ATTEMPTS) {
+            VLCVideoStallWatchdog.this.stop();
+            mListener.onRecoveryFailed();
+            return;
+        }
+
+        if (mOutageStartTime < 0) {
+            mOutageStartTime = mLastProgressTime;
+        }
+
+        mAttempt++;
+        VLCVideoStallWatchdog.this.schedule(Math.min(mTimeout << Math.min(mAttempt, MAX_BACKOFF_SHIFT), MAX_BACKOFF_DELAY));
+        mListener.onStalled(mAttempt);
+    }
+
+}
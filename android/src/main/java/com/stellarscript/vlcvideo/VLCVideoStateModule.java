@@ -0,0 +1,54 @@
+package com.stellarscript.vlcvideo;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.WritableMap;
+
+final class VLCVideoStateModule extends ReactContextBaseJavaModule {
+
+    private static final String MODULE_NAME = "VLCVideoState";
+    private static final String STATE_PROP = "state";
+    private static final String TIME_PROP = "time";
+    private static final String LENGTH_PROP = "length";
+    private static final String BUFFERING_PROP = "buffering";
+    private static final String SEEKABLE_PROP = "seekable";
+    private static final String RATE_PROP = "rate";
+
+    private final VLCVideoViewRegistry mViewRegistry;
+
+    VLCVideoStateModule(final ReactApplicationContext reactApplicationContext, final VLCVideoViewRegistry viewRegistry) {
+        super(reactApplicationContext);
+        mViewRegistry = viewRegistry;
+    }
+
+    @Override
+    public String getName() {
+        return MODULE_NAME;
+    }
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public WritableMap getSnapshot(final int viewTag) {
+        final VLCVideoView videoView = mViewRegistry.get(viewTag);
+        return videoView != null ? VLCVideoStateModule.toMap(videoView.getPlaybackState()) : null;
+    }
+
+    @ReactMethod
+    public void requestSnapshot(final int viewTag, final Promise promise) {
+        promise.resolve(VLCVideoStateModule.this.getSnapshot(viewTag));
+    }
+
+    private static WritableMap toMap(final VLCVideoPlaybackState playbackState) {
+        final WritableMap snapshot = Arguments.createMap();
+        snapshot.putString(STATE_PROP, playbackState.getState());
+        snapshot.putDouble(TIME_PROP, playbackState.getTime());
+        snapshot.putDouble(LENGTH_PROP, playbackState.getLength());
+        snapshot.putDouble(BUFFERING_PROP, playbackState.getBuffering());
+        snapshot.putBoolean(SEEKABLE_PROP, playbackState.isSeekable());
+        snapshot.putDouble(RATE_PROP, playbackState.getRate());
+        return snapshot;
+    }
+
+}
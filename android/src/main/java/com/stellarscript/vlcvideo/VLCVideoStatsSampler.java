@@ -0,0 +1,117 @@
+package com.stellarscript.vlcvideo;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import org.videolan.libvlc.Media;
+import org.videolan.libvlc.MediaPlayer;
+
+final class VLCVideoStatsSampler {
+
+    private final VLCVideoEventEmitter mEventEmitter;
+    private final Handler mHandler;
+    private MediaPlayer mMediaPlayer;
+    private int mInterval;
+    private boolean mHasBaseline;
+    private long mLastSampleTime;
+    private long mLastReadBytes;
+    private long mLastDemuxReadBytes;
+    private long mLastDecodedVideo;
+    private long mLastDisplayedPictures;
+    private long mLastLostPictures;
+    private long mLastLostAbuffers;
+    private long mLastDemuxCorrupted;
+    private final Runnable mSampleRunnable = new Runnable() {
+
+        @Override
+        public void run() {
+            VLCVideoStatsSampler.this.sample();
+            if (mMediaPlayer != null && mInterval > 0) {
+                mHandler.postDelayed(mSampleRunnable, mInterval);
+            }
+        }
+
+    };
+
+    VLCVideoStatsSampler(final VLCVideoEventEmitter eventEmitter) {
+        mEventEmitter = eventEmitter;
+        mHandler = new Handler(Looper.getMainLooper());
+    }
+
+    void setInterval(final int interval) {
+        mInterval = Math.max(interval, 0);
+        if (mMediaPlayer != null) {
+            final MediaPlayer mediaPlayer = mMediaPlayer;
+            VLCVideoStatsSampler.this.stop();
+            VLCVideoStatsSampler.this.start(mediaPlayer);
+        }
+    }
+
+    void start(final MediaPlayer mediaPlayer) {
+        VLCVideoStatsSampler.this.stop();
+        if (mInterval <= 0 || mediaPlayer == null) {
+            return;
+        }
+
+        mMediaPlayer = mediaPlayer;
+        mHandler.post(mSampleRunnable);
+    }
+
+    void stop() {
+        mHandler.removeCallbacks(mSampleRunnable);
+        mMediaPlayer = null;
+        mHasBaseline = false;
+    }
+
+    private void sample() {
+        if (mMediaPlayer == null || mMediaPlayer.isReleased()) {
+            return;
+        }
+
+        final Media media = mMediaPlayer.getMedia();
+        if (media == null) {
+            return;
+        }
+
+        final Media.Stats stats;
+        try {
+            stats = media.getStats();
+        } finally {
+            media.release();
+        }
+
+        if (stats == null) {
+            return;
+        }
+
+        final long now = SystemClock.elapsedRealtime();
+        final long elapsed = now - mLastSampleTime;
+        final boolean emit = mHasBaseline &&
+                elapsed > 0 &&
+                stats.readBytes >= mLastReadBytes &&
+                stats.decodedVideo >= mLastDecodedVideo;
+        if (emit) {
+            mEventEmitter.emitOnStats(
+                    (stats.readBytes - mLastReadBytes) * 8d / elapsed,
+                    (stats.demuxReadBytes - mLastDemuxReadBytes) * 8d / elapsed,
+                    (stats.decodedVideo - mLastDecodedVideo) * 1000d / elapsed,
+                    (stats.displayedPictures - mLastDisplayedPictures) * 1000d / elapsed,
+                    (stats.lostPictures - mLastLostPictures) * 1000d / elapsed,
+                    Math.max(stats.lostAbuffers - mLastLostAbuffers, 0),
+                    Math.max(stats.demuxCorrupted - mLastDemuxCorrupted, 0)
+            );
+        }
+
+        mHasBaseline = true;
+        mLastSampleTime = now;
+        mLastReadBytes = stats.readBytes;
+        mLastDemuxReadBytes = stats.demuxReadBytes;
+        mLastDecodedVideo = stats.decodedVideo;
+        mLastDisplayedPictures = stats.displayedPictures;
+        mLastLostPictures = stats.lostPictures;
+        mLastLostAbuffers = stats.lostAbuffers;
+        mLastDemuxCorrupted = stats.demuxCorrupted;
+    }
+
+}
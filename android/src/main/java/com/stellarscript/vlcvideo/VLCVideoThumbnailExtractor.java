@@ -0,0 +1,272 @@
+package com.stellarscript.vlcvideo;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.media.MediaMetadataRetriever;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.LruCache;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+final class VLCVideoThumbnailExtractor {
+
+    interface Listener {
+        void onThumbnail(final long time, final String uri);
+    }
+
+    static final long TIME_BUCKET = 5000;
+
+    private static final String THREAD_NAME = "VLCVideoThumbnails";
+    private static final String CACHE_DIRECTORY_NAME = "VLCVideoThumbnails";
+    private static final int THUMBNAIL_WIDTH = 160;
+    private static final int JPEG_QUALITY = 70;
+    private static final int MEMORY_CACHE_MAX_BYTES = 8 * 1024 * 1024;
+    private static final long DISK_CACHE_MAX_BYTES = 32 * 1024 * 1024;
+    private static final Object EXTRACT_COMMAND = new Object();
+    private static final LruCache<String, Bitmap> sMemoryCache = new LruCache<String, Bitmap>(MEMORY_CACHE_MAX_BYTES) {
+
+        @Override
+        protected int sizeOf(final String key, final Bitmap bitmap) {
+            return bitmap.getByteCount();
+        }
+
+    };
+
+    private final File mCacheDirectory;
+    private final Listener mListener;
+    private final Handler mHandler;
+    private final Set<File> mSessionFiles;
+    private final String mSessionId;
+    private VLCVideoCommandQueue mCommandQueue;
+    private MediaMetadataRetriever mRetriever;
+    private String mRetrieverSourceUrl;
+    private String mSourceUrl;
+    private boolean mDiskCacheEnabled;
+
+    VLCVideoThumbnailExtractor(final Context context, final Listener listener) {
+        mCacheDirectory = new File(context.getCacheDir(), CACHE_DIRECTORY_NAME);
+        mListener = listener;
+        mHandler = new Handler(Looper.getMainLooper());
+        mSessionFiles = Collections.synchronizedSet(new HashSet<File>());
+        mSessionId = UUID.randomUUID().toString();
+    }
+
+    static int clearMemoryCache() {
+        final int size = sMemoryCache.size();
+        sMemoryCache.evictAll();
+        return size;
+    }
+
+    void setDiskCacheEnabled(final boolean diskCacheEnabled) {
+        mDiskCacheEnabled = diskCacheEnabled;
+    }
+
+    void setSource(final String sourceUrl) {
+        mSourceUrl = sourceUrl;
+        if (mCommandQueue != null) {
+            mCommandQueue.cancel(EXTRACT_COMMAND);
+        }
+    }
+
+    void request(final long time) {
+        final String sourceUrl = mSourceUrl;
+        if (sourceUrl == null) {
+            return;
+        }
+
+        final long bucketTime = Math.max(time, 0) / TIME_BUCKET * TIME_BUCKET;
+        final String key = VLCVideoThumbnailExtractor.getCacheKey(sourceUrl, bucketTime);
+        final boolean diskCacheEnabled = mDiskCacheEnabled;
+        final File file = new File(mCacheDirectory, (diskCacheEnabled ? key : key + "." + mSessionId) + ".jpg");
+        if (mCommandQueue == null) {
+            mCommandQueue = new VLCVideoCommandQueue(THREAD_NAME);
+        }
+
+        mCommandQueue.enqueueLatest(EXTRACT_COMMAND, new Runnable() {
+
+            @Override
+            public void run() {
+                if (file.exists()) {
+                    file.setLastModified(System.currentTimeMillis());
+                } else {
+                    Bitmap bitmap = sMemoryCache.get(key);
+                    if (bitmap == null) {
+                        bitmap = VLCVideoThumbnailExtractor.this.extractFrame(sourceUrl, bucketTime);
+                        if (bitmap == null) {
+                            return;
+                        }
+
+                        sMemoryCache.put(key, bitmap);
+                    }
+
+                    if (!VLCVideoThumbnailExtractor.this.writeFile(bitmap, file)) {
+                        return;
+                    }
+
+                    if (!diskCacheEnabled) {
+                        mSessionFiles.add(file);
+                    }
+
+                    VLCVideoThumbnailExtractor.this.trimDiskCache();
+                }
+
+                final String uri = Uri.fromFile(file).toString();
+                mHandler.post(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        mListener.onThumbnail(bucketTime, uri);
+                    }
+
+                });
+            }
+
+        });
+    }
+
+    void release() {
+        mSourceUrl = null;
+        if (mCommandQueue == null) {
+            return;
+        }
+
+        mCommandQueue.cancel(EXTRACT_COMMAND);
+        mCommandQueue.enqueue(new Runnable() {
+
+            @Override
+            public void run() {
+                VLCVideoThumbnailExtractor.this.releaseRetriever();
+                synchronized (mSessionFiles) {
+                    for (final File file : mSessionFiles) {
+                        file.delete();
+                    }
+
+                    mSessionFiles.clear();
+                }
+            }
+
+        });
+        mCommandQueue.quit();
+        mCommandQueue = null;
+    }
+
+    private Bitmap extractFrame(final String sourceUrl, final long time) {
+        try {
+            if (mRetriever == null || !sourceUrl.equals(mRetrieverSourceUrl)) {
+                VLCVideoThumbnailExtractor.this.releaseRetriever();
+                mRetriever = new MediaMetadataRetriever();
+                mRetrieverSourceUrl = sourceUrl;
+                final Uri sourceUri = Uri.parse(sourceUrl);
+                if ("file".equals(sourceUri.getScheme())) {
+                    mRetriever.setDataSource(sourceUri.getPath());
+                } else {
+                    mRetriever.setDataSource(sourceUrl, new HashMap<String, String>());
+                }
+            }
+
+            final long timeUs = time * 1000;
+            if (Build.VERSION.SDK_INT >= 27) {
+                return mRetriever.getScaledFrameAtTime(timeUs, MediaMetadataRetriever.OPTION_CLOSEST_SYNC, THUMBNAIL_WIDTH, THUMBNAIL_WIDTH);
+            }
+
+            final Bitmap frame = mRetriever.getFrameAtTime(timeUs, MediaMetadataRetriever.OPTION_CLOSEST_SYNC);
+            if (frame == null || frame.getWidth() == 0) {
+                return null;
+            }
+
+            final int height = Math.max(frame.getHeight() * THUMBNAIL_WIDTH / frame.getWidth(), 1);
+            final Bitmap thumbnail = Bitmap.createScaledBitmap(frame, THUMBNAIL_WIDTH, height, true);
+            if (thumbnail != frame) {
+                frame.recycle();
+            }
+
+            return thumbnail;
+        } catch (final RuntimeException e) {
+            e.printStackTrace();
+            VLCVideoThumbnailExtractor.this.releaseRetriever();
+            return null;
+        }
+    }
+
+    private void releaseRetriever() {
+        if (mRetriever != null) {
+            try {
+                mRetriever.release();
+            } catch (final RuntimeException e) {
+                e.printStackTrace();
+            }
+
+            mRetriever = null;
+            mRetrieverSourceUrl = null;
+        }
+    }
+
+    private boolean writeFile(final Bitmap bitmap, final File file) {
+        if (!mCacheDirectory.isDirectory() && !mCacheDirectory.mkdirs()) {
+            return false;
+        }
+
+        final File tempFile = new File(mCacheDirectory, file.getName() + ".tmp");
+        try (final OutputStream outputStream = new FileOutputStream(tempFile)) {
+            bitmap.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, outputStream);
+        } catch (final IOException e) {
+            e.printStackTrace();
+            tempFile.delete();
+            return false;
+        }
+
+        return tempFile.renameTo(file);
+    }
+
+    private void trimDiskCache() {
+        final File[] files = mCacheDirectory.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        long totalSize = 0;
+        for (final File file : files) {
+            totalSize += file.length();
+        }
+
+        if (totalSize <= DISK_CACHE_MAX_BYTES) {
+            return;
+        }
+
+        Arrays.sort(files, new Comparator<File>() {
+
+            @Override
+            public int compare(final File file1, final File file2) {
+                return Long.compare(file1.lastModified(), file2.lastModified());
+            }
+
+        });
+        for (final File file : files) {
+            if (totalSize <= DISK_CACHE_MAX_BYTES) {
+                break;
+            }
+
+            totalSize -= file.length();
+            file.delete();
+            mSessionFiles.remove(file);
+        }
+    }
+
+    private static String getCacheKey(final String sourceUrl, final long time) {
+        return VLCVideoCacheKeys.sha1(sourceUrl + "#" + time);
+    }
+
+}
@@ -1,12 +1,8 @@
 package com.stellarscript.vlcvideo;
 
-import android.app.PendingIntent;
 import android.content.Intent;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.net.Uri;
-import android.support.v4.app.NotificationCompat;
-import android.support.v4.app.NotificationManagerCompat;
+import android.os.SystemClock;
 import android.view.SurfaceView;
 
 import com.facebook.react.bridge.LifecycleEventListener;
@@ -18,41 +14,93 @@ import org.videolan.libvlc.Media;
 import org.videolan.libvlc.MediaPlayer;
 
 import java.text.MessageFormat;
+import java.util.concurrent.atomic.AtomicReference;
 
 public final class VLCVideoView extends SurfaceView {
 
     private static final String MEDIA_ERROR_MESSAGE = "VLC encountered an error with this media.";
-    private static final String CHANNEL_ID_RESOURCE_NAME = "react_native_vlc2_channel_id";
-    private static final String SMALL_ICON_RESOURCE_NAME = "react_native_vlc2_small_icon";
-    private static final String LARGE_ICON_RESOURCE_NAME = "react_native_vlc2_large_icon";
-    private static final String PLAY_ICON_RESOURCE_NAME = "react_native_vlc2_play_icon";
-    private static final String PAUSE_ICON_RESOURCE_NAME = "react_native_vlc2_pause_icon";
-    private static final String PLAY_INTENT_ACTION = "VLCVideo:Play";
-    private static final String PAUSE_INTENT_ACTION = "VLCVideo:Pause";
+    private static final String STALL_ERROR_MESSAGE = "VLC could not recover this media after it stalled.";
+    private static final long SEEK_TIMEOUT = 2000;
+    private static final long DECODER_CHECK_INTERVAL = 1000;
 
     public static final int PLAYBACK_NOTIFICATION_ID = 11740;
 
     private String mTitle;
+    private Uri mSourceUri;
+    private boolean mHwDecoderEnabled;
+    private boolean mRequestedHwDecoderEnabled;
+    private boolean mIsDecoderFallback;
+    private String mFormatKey;
+    private boolean mIsVideoTrackAdded;
+    private boolean mIsHwDecoderConfirmed;
+    private long mDecoderCheckUptime;
+    private int mDecoderCheckReadBytes;
+    private int mDecoderCheckDecodedVideo;
+    private long mLastTime;
+    private String mResumeKey;
+    private int mResumeInterval;
+    private long mLastResumeSaveUptime;
+    private VLCVideoMediaOptions mMediaOptions;
+    private String mNextTitle;
+    private Uri mNextSourceUri;
+    private boolean mNextHwDecoderEnabled;
+    private long mNextStartTime;
+    private String mNextResumeKey;
+    private VLCVideoMediaOptions mNextMediaOptions;
+    private int mWindowWidth;
+    private int mWindowHeight;
     private boolean mPlayInBackground;
+    private boolean mSizeAwareQualityEnabled;
+    private VLCVideoDecodeQuality mDecodeQuality = VLCVideoDecodeQuality.FULL;
+    private boolean mIsDecodeQualityProvisional;
+    private boolean mShouldPlay;
+    private String mOffscreenBehavior = VLCVideoProps.OFFSCREEN_BEHAVIOR_DEFAULT_VALUE;
+    private float mVisibilityThreshold = VLCVideoProps.VISIBILITY_THRESHOLD_DEFAULT_VALUE;
+    private boolean mIsActive = true;
+    private long mLoadStartTime;
+    private boolean mAutoplay;
+    private boolean mAudioOnlyInBackground;
+    private boolean mIsVideoSuspended;
+    private boolean mIsOpenedWithoutVideo;
+    private boolean mIsPlayerTrimmed;
     private boolean mIsSeekRequested;
+    private boolean mHasPendingSeek;
+    private long mPendingSeekTime;
+    private final int mSessionId;
     private final ThemedReactContext mThemedReactContext;
     private final LibVLC mLibVLC;
     private final VLCVideoCallbackManager mCallbackManager;
     private final VLCVideoEventEmitter mEventEmitter;
-    private final MediaPlayer mMediaPlayer;
+    private final VLCVideoNotificationRenderer mNotificationRenderer;
+    private final VLCVideoPlaybackMetrics mPlaybackMetrics;
+    private final VLCVideoStatsSampler mStatsSampler;
+    private final VLCVideoAdaptiveCaching mAdaptiveCaching;
+    private final VLCVideoStallWatchdog mStallWatchdog;
+    private final VLCVideoThumbnailExtractor mThumbnailExtractor;
+    private final VLCVideoDecoderCache mDecoderCache;
+    private final VLCVideoResumeStore mResumeStore;
+    private final VLCVideoVisibilityTracker mVisibilityTracker;
+    private final VLCVideoMemoryGovernor mMemoryGovernor;
+    private final VLCVideoViewRegistry mViewRegistry;
+    private final AtomicReference<VLCVideoPlaybackState> mPlaybackState;
+    private final VLCVideoPlayerPool mPlayerPool;
+    private final VLCVideoCacheProxy mCacheProxy;
+    private MediaPlayer mMediaPlayer;
+    private MediaPlayer mStandbyPlayer;
+    private VLCVideoCommandQueue mCommandQueue;
     private final VLCVideoCallbackManager.IntentCallback mIntentCallback = new VLCVideoCallbackManager.IntentCallback() {
 
         @Override
         public boolean onNewIntent(final Intent intent) {
             final String action = intent != null && intent.getAction() != null ? intent.getAction() : "";
             switch (action) {
-                case PLAY_INTENT_ACTION:
+                case VLCVideoNotificationRenderer.PLAY_INTENT_ACTION:
                     VLCVideoView.this.attachVLCVoutViews();
-                    mMediaPlayer.play();
+                    VLCVideoView.this.play();
                     return true;
-                case PAUSE_INTENT_ACTION:
+                case VLCVideoNotificationRenderer.PAUSE_INTENT_ACTION:
                     VLCVideoView.this.attachVLCVoutViews();
-                    mMediaPlayer.pause();
+                    VLCVideoView.this.pause();
                     return true;
                 default:
                     return false;
@@ -65,16 +113,21 @@ public final class VLCVideoView extends SurfaceView {
         @Override
         public void onHostResume() {
             VLCVideoView.this.attachVLCVoutViews();
+            if (mIsActive) {
+                VLCVideoView.this.resumeVideo();
+            }
         }
 
         @Override
         public void onHostPause() {
-            try {
-                if (!mMediaPlayer.isReleased() && !mPlayInBackground) {
-                    mMediaPlayer.pause();
-                }
-            } catch (final Throwable e) {
-                e.printStackTrace();
+            if (mMediaPlayer == null || mMediaPlayer.isReleased()) {
+                return;
+            }
+
+            if (!mPlayInBackground) {
+                VLCVideoView.this.pause();
+            } else if (mAudioOnlyInBackground) {
+                VLCVideoView.this.suspendVideo();
             }
         }
 
@@ -82,6 +135,42 @@ public final class VLCVideoView extends SurfaceView {
         public void onHostDestroy() {
         }
 
+    };
+    private final Runnable mSeekTimeoutRunnable = new Runnable() {
+
+        @Override
+        public void run() {
+            if (mIsSeekRequested) {
+                VLCVideoView.this.onSeekCompleted();
+            }
+        }
+
+    };
+    private final VLCVideoThumbnailExtractor.Listener mThumbnailListener = new VLCVideoThumbnailExtractor.Listener() {
+
+        @Override
+        public void onThumbnail(final long time, final String uri) {
+            mEventEmitter.emitOnThumbnail(time, uri);
+        }
+
+    };
+    private final VLCVideoStallWatchdog.Listener mStallListener = new VLCVideoStallWatchdog.Listener() {
+
+        @Override
+        public void onStalled(final int attempt) {
+            VLCVideoView.this.recoverFromStall(attempt);
+        }
+
+        @Override
+        public void onRecovered(final long recoveryTime) {
+            mPlaybackMetrics.onRecovered(recoveryTime);
+        }
+
+        @Override
+        public void onRecoveryFailed() {
+            VLCVideoView.this.failPlayback(STALL_ERROR_MESSAGE);
+        }
+
     };
     private final MediaPlayer.EventListener mMediaPlayerEventListener = new MediaPlayer.EventListener() {
 
@@ -89,50 +178,150 @@ public final class VLCVideoView extends SurfaceView {
         public void onEvent(final MediaPlayer.Event mediaEvent) {
             final int eventType = mediaEvent.type;
             switch (eventType) {
+                case MediaPlayer.Event.Opening:
+                    VLCVideoView.this.updatePlaybackState(mPlaybackState.get().withBuffering(VLCVideoPlaybackState.OPENING, 0f));
+                    break;
+                case MediaPlayer.Event.Stopped:
+                    final String state = mPlaybackState.get().getState();
+                    if (!VLCVideoPlaybackState.ENDED.equals(state) && !VLCVideoPlaybackState.ERROR.equals(state)) {
+                        VLCVideoView.this.updatePlaybackState(mPlaybackState.get().withState(VLCVideoPlaybackState.STOPPED));
+                    }
+                    break;
+                case MediaPlayer.Event.LengthChanged:
+                    VLCVideoView.this.updatePlaybackState(mPlaybackState.get().withLength(mediaEvent.getLengthChanged()));
+                    break;
+                case MediaPlayer.Event.SeekableChanged:
+                    VLCVideoView.this.updatePlaybackState(mPlaybackState.get().withSeekable(mediaEvent.getSeekable()));
+                    break;
                 case MediaPlayer.Event.EndReached:
+                    if (mResumeKey != null) {
+                        mResumeStore.remove(mResumeKey);
+                    }
+
+                    mLastTime = 0;
+                    mShouldPlay = false;
+                    mStallWatchdog.stop();
+                    VLCVideoView.this.updatePlaybackState(mPlaybackState.get().withState(VLCVideoPlaybackState.ENDED));
+
                     mEventEmitter.emitOnEndReached();
+                    VLCVideoView.this.endPlaybackMetricsSession();
+                    mStatsSampler.stop();
+                    if (mStandbyPlayer != null) {
+                        VLCVideoView.this.switchToNextMedia();
+                        break;
+                    }
+
                     VLCVideoView.this.stop();
                     VLCVideoView.this.clearPlaybackNotification();
                     break;
                 case MediaPlayer.Event.EncounteredError:
-                    mEventEmitter.emitOnError(MEDIA_ERROR_MESSAGE, true);
-                    VLCVideoView.this.stop();
-                    VLCVideoView.this.clearPlaybackNotification();
+                    if (mStallWatchdog.isRecovering()) {
+                        break;
+                    }
+
+                    if (mHwDecoderEnabled && mIsVideoTrackAdded && VLCVideoView.this.isVideoDecoderStalled()) {
+                        VLCVideoView.this.fallbackToSoftwareDecoder();
+                        break;
+                    }
+
+                    VLCVideoView.this.failPlayback(MEDIA_ERROR_MESSAGE);
                     break;
                 case MediaPlayer.Event.Paused:
+                    mStallWatchdog.stop();
+                    VLCVideoView.this.updatePlaybackState(mPlaybackState.get().withState(VLCVideoPlaybackState.PAUSED));
+                    VLCVideoView.this.saveResumePosition();
+                    mStatsSampler.stop();
                     mEventEmitter.emitOnPaused();
                     VLCVideoView.this.updatePlaybackNotification();
                     break;
                 case MediaPlayer.Event.TimeChanged:
                     final double time = mMediaPlayer.getTime();
+                    mLastTime = (long) time;
+                    mStallWatchdog.onTimeChanged(mLastTime);
+                    VLCVideoView.this.updatePlaybackState(mPlaybackState.get().withTime(mLastTime));
+                    if (SystemClock.uptimeMillis() - mLastResumeSaveUptime >= mResumeInterval) {
+                        VLCVideoView.this.saveResumePosition();
+                    }
+
                     mEventEmitter.emitOnTimeChanged(time);
+                    if (SystemClock.uptimeMillis() - mDecoderCheckUptime >= DECODER_CHECK_INTERVAL) {
+                        VLCVideoView.this.updateDecoderCheck();
+                    }
+
+                    if (mMediaOptions != null && mMediaOptions.isAdaptiveCaching()) {
+                        mAdaptiveCaching.onPlaybackProgress();
+                    }
+
                     if (mIsSeekRequested) {
-                        mIsSeekRequested = false;
-                        mEventEmitter.emitOnSeekPerformed();
+                        VLCVideoView.this.onSeekCompleted();
                     }
                     break;
                 case MediaPlayer.Event.Playing:
                     final double duration = mMediaPlayer.getLength();
+                    if (mIsDecoderFallback) {
+                        mIsDecoderFallback = false;
+                        mDecoderCache.markHwDecoderFailed(mFormatKey);
+                    }
+
+                    mPlaybackMetrics.onPlaying();
+                    mStallWatchdog.onPlaying();
+                    VLCVideoView.this.updatePlaybackState(mPlaybackState.get().withPlaying((long) duration, mMediaPlayer.isSeekable(), mMediaPlayer.getRate()));
+                    mStatsSampler.start(mMediaPlayer);
                     mEventEmitter.emitOnPlaying(duration);
                     VLCVideoView.this.updatePlaybackNotification();
                     break;
                 case MediaPlayer.Event.Buffering:
                     final double buffering = mediaEvent.getBuffering();
+                    VLCVideoView.this.updateBufferingState((float) buffering);
+                    final int rebufferCount = mPlaybackMetrics.getRebufferCount();
+                    mPlaybackMetrics.onBuffering(buffering);
                     mEventEmitter.emitOnBuffering(buffering);
+                    if (mPlaybackMetrics.getRebufferCount() > rebufferCount &&
+                            mMediaOptions != null &&
+                            mMediaOptions.isAdaptiveCaching() &&
+                            mAdaptiveCaching.onStall()) {
+                        VLCVideoView.this.reopenMedia(mMediaPlayer.getTime());
+                    }
+                    break;
+                case MediaPlayer.Event.ESAdded:
+                    if (mediaEvent.getEsChangedType() != Media.Track.Type.Video) {
+                        break;
+                    }
+
+                    mIsVideoTrackAdded = true;
+                    if (mFormatKey == null) {
+                        VLCVideoView.this.onVideoTrackAdded();
+                    }
                     break;
             }
         }
 
     };
 
-    public VLCVideoView(final ThemedReactContext themedReactContext, final LibVLC libVLC, final VLCVideoCallbackManager callbackManager) {
+    public VLCVideoView(final ThemedReactContext themedReactContext, final LibVLC libVLC, final VLCVideoCallbackManager callbackManager, final VLCVideoPlayerPool playerPool, final VLCVideoCacheProxy cacheProxy, final VLCVideoEventBatcher eventBatcher, final VLCVideoResumeStore resumeStore, final VLCVideoVisibilityTracker visibilityTracker, final VLCVideoMemoryGovernor memoryGovernor, final VLCVideoViewRegistry viewRegistry) {
         super(themedReactContext);
 
+        mSessionId = VLCVideoCallbackManager.generateSessionId();
         mThemedReactContext = themedReactContext;
         mLibVLC = libVLC;
         mCallbackManager = callbackManager;
-        mEventEmitter = new VLCVideoEventEmitter(VLCVideoView.this, mThemedReactContext);
-        mMediaPlayer = new MediaPlayer(mLibVLC);
+        mEventEmitter = new VLCVideoEventEmitter(VLCVideoView.this, mThemedReactContext, eventBatcher);
+        mNotificationRenderer = new VLCVideoNotificationRenderer(mThemedReactContext, mSessionId);
+        mPlaybackMetrics = new VLCVideoPlaybackMetrics();
+        mStatsSampler = new VLCVideoStatsSampler(mEventEmitter);
+        mAdaptiveCaching = new VLCVideoAdaptiveCaching();
+        mStallWatchdog = new VLCVideoStallWatchdog(mStallListener);
+        mThumbnailExtractor = new VLCVideoThumbnailExtractor(mThemedReactContext, mThumbnailListener);
+        mDecoderCache = new VLCVideoDecoderCache(mThemedReactContext);
+        mResumeStore = resumeStore;
+        mVisibilityTracker = visibilityTracker;
+        mMemoryGovernor = memoryGovernor;
+        mViewRegistry = viewRegistry;
+        mPlaybackState = new AtomicReference<>(VLCVideoPlaybackState.INITIAL);
+        mPlayerPool = playerPool;
+        mCacheProxy = cacheProxy;
+        mMediaPlayer = mPlayerPool.acquire();
+        mCommandQueue = new VLCVideoCommandQueue();
 
         setBackgroundResource(R.drawable.video_view_background);
     }
@@ -140,13 +329,23 @@ public final class VLCVideoView extends SurfaceView {
     @Override
     protected void onAttachedToWindow() {
         super.onAttachedToWindow();
+        if (mMediaPlayer == null) {
+            mMediaPlayer = mPlayerPool.acquire();
+            mCommandQueue = new VLCVideoCommandQueue();
+        }
+
         VLCVideoView.this.attachVLCVoutViews();
         if (mCallbackManager != null) {
-            mCallbackManager.addCallback(mIntentCallback);
+            mCallbackManager.addCallback(mSessionId, mIntentCallback);
         }
 
         mThemedReactContext.addLifecycleEventListener(mLifecycleEventListener);
         mMediaPlayer.setEventListener(mMediaPlayerEventListener);
+        mMemoryGovernor.register(VLCVideoView.this);
+        mViewRegistry.register(VLCVideoView.this);
+        if (!VLCVideoProps.OFFSCREEN_BEHAVIOR_NONE.equals(mOffscreenBehavior)) {
+            mVisibilityTracker.register(VLCVideoView.this);
+        }
     }
 
     @Override
@@ -154,32 +353,49 @@ public final class VLCVideoView extends SurfaceView {
         super.onDetachedFromWindow();
         VLCVideoView.this.clearPlaybackNotification();
         VLCVideoView.this.detachVLCVoutViews();
+        mVisibilityTracker.unregister(VLCVideoView.this);
+        mMemoryGovernor.unregister(VLCVideoView.this);
+        mViewRegistry.unregister(VLCVideoView.this);
+        mIsActive = true;
         if (mCallbackManager != null) {
-            mCallbackManager.removeCallback(mIntentCallback);
+            mCallbackManager.removeCallback(mSessionId, mIntentCallback);
         }
 
         mThemedReactContext.removeLifecycleEventListener(mLifecycleEventListener);
         mMediaPlayer.setEventListener(null);
-        try {
-            mMediaPlayer.stop();
-            mMediaPlayer.release();
-        } catch (final Exception e) {
-            e.printStackTrace();
-        }
+        VLCVideoView.this.saveResumePosition();
+        mIsVideoSuspended = false;
+        mIsOpenedWithoutVideo = false;
+        mIsPlayerTrimmed = false;
+        mStallWatchdog.stop();
+        VLCVideoView.this.resetPlaybackState();
+        VLCVideoView.this.endPlaybackMetricsSession();
+        VLCVideoView.this.clearNextMedia();
+        VLCVideoView.this.recyclePlayer(mMediaPlayer);
+        mCommandQueue.quit();
+        mCommandQueue = null;
+        mThumbnailExtractor.release();
+        mMediaPlayer = null;
+        mSourceUri = null;
+        mMediaOptions = null;
+        VLCVideoView.this.updatePlaybackState(VLCVideoPlaybackState.INITIAL);
     }
 
     @Override
     protected void onLayout(final boolean changed, final int left, final int top, final int right, final int bottom) {
         super.onLayout(changed, left, top, right, bottom);
-        if (changed) {
+        if (changed && mMediaPlayer != null) {
             final int width = right - left;
             final int height = bottom - top;
             if (width * height == 0) {
                 return;
             }
 
+            mWindowWidth = width;
+            mWindowHeight = height;
             final IVLCVout vout = mMediaPlayer.getVLCVout();
             vout.setWindowSize(width, height);
+            VLCVideoView.this.updateDecodeQuality();
         }
     }
 
@@ -187,69 +403,751 @@ public final class VLCVideoView extends SurfaceView {
         mPlayInBackground = playInBackground;
     }
 
-    public void loadMedia(final String sourceUrl, final long startTime, final boolean autoplay, final boolean hwDecoderEnabled, final String title) {
-        if (sourceUrl == null || sourceUrl.isEmpty()) {
+    public void setEventBatchingEnabled(final boolean eventBatchingEnabled) {
+        mEventEmitter.setEventBatchingEnabled(eventBatchingEnabled);
+    }
+
+    public void setResumeInterval(final int resumeInterval) {
+        mResumeInterval = Math.max(resumeInterval, 0);
+    }
+
+    public void setAudioOnlyInBackground(final boolean audioOnlyInBackground) {
+        mAudioOnlyInBackground = audioOnlyInBackground;
+    }
+
+    public void setSizeAwareQualityEnabled(final boolean sizeAwareQualityEnabled) {
+        mSizeAwareQualityEnabled = sizeAwareQualityEnabled;
+        VLCVideoView.this.updateDecodeQuality();
+    }
+
+    public void setOffscreenBehavior(final String offscreenBehavior) {
+        final String behavior = offscreenBehavior != null ? offscreenBehavior : VLCVideoProps.OFFSCREEN_BEHAVIOR_DEFAULT_VALUE;
+        if (behavior.equals(mOffscreenBehavior)) {
             return;
         }
 
-        final Uri newSourceUri = Uri.parse(sourceUrl);
-        final Media oldMedia = mMediaPlayer.getMedia();
-        if (oldMedia != null) {
-            final Uri oldSourceUri = oldMedia.getUri();
-            if (oldSourceUri.compareTo(newSourceUri) == 0) {
-                return;
-            }
+        VLCVideoView.this.setActive(true);
+        mOffscreenBehavior = behavior;
+        if (VLCVideoProps.OFFSCREEN_BEHAVIOR_NONE.equals(mOffscreenBehavior)) {
+            mVisibilityTracker.unregister(VLCVideoView.this);
+        } else if (isAttachedToWindow()) {
+            mVisibilityTracker.register(VLCVideoView.this);
         }
+    }
 
-        VLCVideoView.this.stop();
-        final Media newMedia = new Media(mLibVLC, newSourceUri);
-        newMedia.setHWDecoderEnabled(hwDecoderEnabled, false);
+    public void setVisibilityThreshold(final float visibilityThreshold) {
+        mVisibilityThreshold = Math.min(Math.max(visibilityThreshold, 0f), 1f);
+        mVisibilityTracker.scheduleUpdate();
+    }
 
-        if (startTime > 0) {
-            final long startTimeInSeconds = startTime / 1000;
-            final String startTimeOption = MessageFormat.format(":start-time={0}", String.valueOf(startTimeInSeconds));
-            newMedia.addOption(startTimeOption);
+    public void setStallTimeout(final int stallTimeout) {
+        mStallWatchdog.setTimeout(stallTimeout);
+    }
+
+    public void setStatsInterval(final int statsInterval) {
+        mStatsSampler.setInterval(statsInterval);
+    }
+
+    public void setThumbnailDiskCacheEnabled(final boolean thumbnailDiskCacheEnabled) {
+        mThumbnailExtractor.setDiskCacheEnabled(thumbnailDiskCacheEnabled);
+    }
+
+    public void setTimeUpdateInterval(final int timeUpdateInterval) {
+        mEventEmitter.setTimeUpdateInterval(timeUpdateInterval);
+    }
+
+    public void setTimeUpdateWholeSeconds(final boolean timeUpdateWholeSeconds) {
+        mEventEmitter.setTimeUpdateWholeSeconds(timeUpdateWholeSeconds);
+    }
+
+    public void loadMedia(final String sourceUrl, final long startTime, final boolean autoplay, final boolean hwDecoderEnabled, final String title, final String resumeKey, final VLCVideoMediaOptions mediaOptions) {
+        if (mMediaPlayer == null || sourceUrl == null || sourceUrl.isEmpty()) {
+            return;
         }
 
-        mTitle = title;
-        mMediaPlayer.setMedia(newMedia);
-        if (autoplay) {
-            mMediaPlayer.play();
+        final Uri newSourceUri = Uri.parse(sourceUrl);
+        if (mSourceUri != null && mSourceUri.compareTo(newSourceUri) == 0) {
+            VLCVideoView.this.updateMedia(startTime, autoplay, hwDecoderEnabled, title, resumeKey, mediaOptions);
+            return;
         }
 
+        if (mStandbyPlayer != null && mNextSourceUri.compareTo(newSourceUri) == 0) {
+            VLCVideoView.this.switchToStandbyPlayer(title, autoplay, startTime, hwDecoderEnabled, resumeKey, mediaOptions);
+            return;
+        }
+
+        VLCVideoView.this.saveResumePosition();
+        mStallWatchdog.stop();
+        VLCVideoView.this.resetPlaybackState();
+        VLCVideoView.this.endPlaybackMetricsSession();
+        mPlaybackMetrics.startSession();
+        mAdaptiveCaching.reset(mediaOptions.getNetworkCaching());
+        VLCVideoView.this.updatePlaybackState(VLCVideoPlaybackState.INITIAL);
+        mResumeKey = resumeKey;
+        mLastResumeSaveUptime = SystemClock.uptimeMillis();
+        mTitle = title;
+        mSourceUri = newSourceUri;
+        mHwDecoderEnabled = hwDecoderEnabled;
+        mRequestedHwDecoderEnabled = hwDecoderEnabled;
+        mIsDecoderFallback = false;
+        mFormatKey = null;
+        mLastTime = Math.max(startTime, 0);
+        mLoadStartTime = startTime;
+        mAutoplay = autoplay;
+        mShouldPlay = autoplay;
+        mMediaOptions = mediaOptions;
+        mThumbnailExtractor.setSource(sourceUrl);
+        VLCVideoView.this.openMedia(startTime, autoplay && VLCVideoView.this.isPlaybackAllowed());
+        mVisibilityTracker.scheduleUpdate();
         VLCVideoView.this.updatePlaybackNotification();
     }
 
+    public void loadNextMedia(final String sourceUrl, final long startTime, final boolean hwDecoderEnabled, final String title, final String resumeKey, final VLCVideoMediaOptions mediaOptions) {
+        if (mMediaPlayer == null || sourceUrl == null || sourceUrl.isEmpty()) {
+            return;
+        }
+
+        final Uri nextSourceUri = Uri.parse(sourceUrl);
+        if (mNextSourceUri != null && mNextSourceUri.compareTo(nextSourceUri) == 0) {
+            mNextTitle = title;
+            mNextResumeKey = resumeKey;
+            return;
+        }
+
+        VLCVideoView.this.clearNextMedia();
+        mNextTitle = title;
+        mNextSourceUri = nextSourceUri;
+        mNextHwDecoderEnabled = hwDecoderEnabled;
+        mNextStartTime = startTime;
+        mNextResumeKey = resumeKey;
+        mNextMediaOptions = mediaOptions;
+        mStandbyPlayer = mPlayerPool.acquire();
+        final MediaPlayer standbyPlayer = mStandbyPlayer;
+        final VLCVideoDecodeQuality decodeQuality = VLCVideoView.this.getSurfaceDecodeQuality();
+        mCommandQueue.enqueue(new Runnable() {
+
+            @Override
+            public void run() {
+                final long mediaStartTime = startTime >= 0 || resumeKey == null ? startTime : mResumeStore.get(resumeKey);
+                final Media nextMedia = VLCVideoView.this.createMedia(nextSourceUri, mediaStartTime, hwDecoderEnabled, mediaOptions, mediaOptions.getNetworkCaching(), decodeQuality);
+                nextMedia.addOption(":start-paused");
+                standbyPlayer.setMedia(nextMedia);
+                nextMedia.release();
+                standbyPlayer.play();
+            }
+
+        });
+    }
+
+    public void clearNextMedia() {
+        if (mStandbyPlayer != null) {
+            VLCVideoView.this.recyclePlayer(mStandbyPlayer);
+            mStandbyPlayer = null;
+        }
+
+        mNextTitle = null;
+        mNextResumeKey = null;
+        mNextSourceUri = null;
+        mNextMediaOptions = null;
+    }
+
+    public void switchToNextMedia() {
+        if (mMediaPlayer == null || mStandbyPlayer == null) {
+            return;
+        }
+
+        VLCVideoView.this.switchToStandbyPlayer(mNextTitle, true, mNextStartTime, mNextHwDecoderEnabled, mNextResumeKey, mNextMediaOptions);
+    }
+
     public void play() {
-        mMediaPlayer.play();
+        if (mMediaPlayer == null) {
+            return;
+        }
+
+        mShouldPlay = true;
+        mVisibilityTracker.scheduleUpdate();
+        if (!VLCVideoView.this.isPlaybackAllowed()) {
+            return;
+        }
+
+        if (mIsPlayerTrimmed) {
+            VLCVideoView.this.openMedia(mLastTime, true);
+            return;
+        }
+
+        final MediaPlayer mediaPlayer = mMediaPlayer;
+        mCommandQueue.enqueue(new Runnable() {
+
+            @Override
+            public void run() {
+                mediaPlayer.play();
+            }
+
+        });
     }
 
     public void pause() {
-        mMediaPlayer.pause();
+        if (mMediaPlayer == null) {
+            return;
+        }
+
+        mShouldPlay = false;
+        mStallWatchdog.stop();
+        mVisibilityTracker.scheduleUpdate();
+        final MediaPlayer mediaPlayer = mMediaPlayer;
+        mCommandQueue.enqueue(new Runnable() {
+
+            @Override
+            public void run() {
+                mediaPlayer.pause();
+            }
+
+        });
     }
 
     public void seek(final long time) {
-        mIsSeekRequested = true;
+        if (mMediaPlayer == null) {
+            return;
+        }
+
+        mPlaybackMetrics.onSeekRequested();
         mEventEmitter.emitOnSeekRequested(time);
-        mMediaPlayer.setTime(time);
-        mMediaPlayer.play();
+        if (mIsSeekRequested) {
+            mHasPendingSeek = true;
+            mPendingSeekTime = time;
+            return;
+        }
+
+        if (mIsPlayerTrimmed) {
+            VLCVideoView.this.openMedia(time, false);
+        }
+
+        VLCVideoView.this.applySeek(time);
+    }
+
+    public void requestThumbnail(final long time) {
+        mThumbnailExtractor.request(time);
+    }
+
+    public void requestPlaybackMetrics() {
+        mEventEmitter.emitOnPlaybackMetrics(mPlaybackMetrics);
     }
 
     public boolean isPlaying() {
-        return mMediaPlayer.isPlaying();
+        return mMediaPlayer != null && mMediaPlayer.isPlaying();
     }
 
     public boolean isSeekable() {
-        return mMediaPlayer.isSeekable();
+        return mMediaPlayer != null && mMediaPlayer.isSeekable();
     }
 
     public long getTime() {
-        return mMediaPlayer.getTime();
+        return mMediaPlayer != null ? mMediaPlayer.getTime() : 0;
+    }
+
+    VLCVideoPlaybackState getPlaybackState() {
+        return mPlaybackState.get();
     }
 
     private void stop() {
+        mStallWatchdog.stop();
+        VLCVideoView.this.resetPlaybackState();
+        final MediaPlayer mediaPlayer = mMediaPlayer;
+        mCommandQueue.enqueue(new Runnable() {
+
+            @Override
+            public void run() {
+                mediaPlayer.stop();
+            }
+
+        });
+    }
+
+    private void resetPlaybackState() {
+        VLCVideoView.this.clearSeekRequest();
+        mEventEmitter.clearTimeChanged();
+        mStatsSampler.stop();
+        mCommandQueue.cancel(VLCVideoCommandQueue.SEEK_COMMAND);
+    }
+
+    private void applySeek(final long time) {
+        mStallWatchdog.postpone();
+        mIsSeekRequested = true;
+        removeCallbacks(mSeekTimeoutRunnable);
+        postDelayed(mSeekTimeoutRunnable, SEEK_TIMEOUT);
+        final MediaPlayer mediaPlayer = mMediaPlayer;
+        mCommandQueue.enqueueLatest(VLCVideoCommandQueue.SEEK_COMMAND, new Runnable() {
+
+            @Override
+            public void run() {
+                mediaPlayer.setTime(time);
+                mediaPlayer.play();
+            }
+
+        });
+    }
+
+    private void onSeekCompleted() {
+        removeCallbacks(mSeekTimeoutRunnable);
+        if (mHasPendingSeek && mMediaPlayer != null) {
+            mHasPendingSeek = false;
+            VLCVideoView.this.applySeek(mPendingSeekTime);
+            return;
+        }
+
+        VLCVideoView.this.clearSeekRequest();
+        mPlaybackMetrics.onSeekPerformed();
+        mEventEmitter.emitOnSeekPerformed();
+    }
+
+    private void clearSeekRequest() {
+        removeCallbacks(mSeekTimeoutRunnable);
         mIsSeekRequested = false;
-        mMediaPlayer.stop();
+        mHasPendingSeek = false;
+    }
+
+    private Media createMedia(final Uri sourceUri, final long startTime, final boolean hwDecoderEnabled, final VLCVideoMediaOptions mediaOptions, final long networkCaching, final VLCVideoDecodeQuality decodeQuality) {
+        final Uri mediaUri = mediaOptions.isLocalCacheEnabled() ? Uri.parse(mCacheProxy.getProxyUrl(sourceUri.toString())) : sourceUri;
+        final Media media = new Media(mLibVLC, mediaUri);
+        media.setHWDecoderEnabled(hwDecoderEnabled, false);
+        mediaOptions.applyTo(media, networkCaching);
+        decodeQuality.applyTo(media);
+
+        if (startTime > 0) {
+            final long startTimeInSeconds = startTime / 1000;
+            final String startTimeOption = MessageFormat.format(":start-time={0}", String.valueOf(startTimeInSeconds));
+            media.addOption(startTimeOption);
+        }
+
+        return media;
+    }
+
+    private void openMedia(final long startTime, final boolean autoplay) {
+        final MediaPlayer mediaPlayer = mMediaPlayer;
+        final Uri sourceUri = mSourceUri;
+        final boolean hwDecoderEnabled = mHwDecoderEnabled;
+        final VLCVideoMediaOptions mediaOptions = mMediaOptions;
+        final long networkCaching = mediaOptions.isAdaptiveCaching() ? mAdaptiveCaching.getNetworkCaching() : mediaOptions.getNetworkCaching();
+        final String resumeKey = mResumeKey;
+        final VLCVideoDecodeQuality decodeQuality = VLCVideoView.this.getSurfaceDecodeQuality();
+        final boolean isVideoSuspended = mIsVideoSuspended;
+        mDecodeQuality = decodeQuality;
+        mIsDecodeQualityProvisional = mSizeAwareQualityEnabled && mWindowWidth * mWindowHeight == 0;
+        mIsOpenedWithoutVideo = isVideoSuspended;
+        mIsPlayerTrimmed = false;
+        mIsVideoTrackAdded = false;
+        VLCVideoView.this.resetDecoderCheck();
+        mPlaybackMetrics.onReopen();
+        mCommandQueue.enqueueLatest(VLCVideoCommandQueue.LOAD_COMMAND, new Runnable() {
+
+            @Override
+            public void run() {
+                mediaPlayer.stop();
+                final long mediaStartTime = startTime >= 0 || resumeKey == null ? startTime : mResumeStore.get(resumeKey);
+                final Media media = VLCVideoView.this.createMedia(sourceUri, mediaStartTime, hwDecoderEnabled, mediaOptions, networkCaching, decodeQuality);
+                if (isVideoSuspended) {
+                    media.addOption(":no-video");
+                }
+
+                mediaPlayer.setMedia(media);
+                media.release();
+                if (autoplay) {
+                    mediaPlayer.play();
+                }
+            }
+
+        });
+    }
+
+    private VLCVideoDecodeQuality getSurfaceDecodeQuality() {
+        return mSizeAwareQualityEnabled ? VLCVideoDecodeQuality.forSurface(mWindowWidth, mWindowHeight) : VLCVideoDecodeQuality.FULL;
+    }
+
+    private void updateDecodeQuality() {
+        if (mMediaPlayer == null || mSourceUri == null || mIsPlayerTrimmed) {
+            return;
+        }
+
+        final VLCVideoDecodeQuality decodeQuality = VLCVideoView.this.getSurfaceDecodeQuality();
+        if (decodeQuality.equals(mDecodeQuality)) {
+            mIsDecodeQualityProvisional = false;
+            return;
+        }
+
+        if (!mIsDecodeQualityProvisional && !decodeQuality.isHigherThan(mDecodeQuality)) {
+            return;
+        }
+
+        VLCVideoView.this.reopenMediaAtCurrentTime();
+    }
+
+    private void updateMedia(final long startTime, final boolean autoplay, final boolean hwDecoderEnabled, final String title, final String resumeKey, final VLCVideoMediaOptions mediaOptions) {
+        mResumeKey = resumeKey;
+        if (title != null && !title.equals(mTitle)) {
+            mTitle = title;
+            VLCVideoView.this.updatePlaybackNotification();
+        }
+
+        final boolean isDecoderChanged = hwDecoderEnabled != mRequestedHwDecoderEnabled;
+        final boolean isMediaOptionsChanged = !mediaOptions.equals(mMediaOptions);
+        if (isDecoderChanged || isMediaOptionsChanged) {
+            if (isMediaOptionsChanged) {
+                mMediaOptions = mediaOptions;
+                mAdaptiveCaching.reset(mediaOptions.getNetworkCaching());
+            }
+
+            mRequestedHwDecoderEnabled = hwDecoderEnabled;
+            mHwDecoderEnabled = hwDecoderEnabled && mDecoderCache.isHwDecoderUsable(mFormatKey);
+            mIsDecoderFallback = false;
+            VLCVideoView.this.reopenMediaAtCurrentTime();
+        } else if (startTime >= 0 && startTime != mLoadStartTime) {
+            VLCVideoView.this.seek(startTime);
+        }
+
+        mLoadStartTime = startTime;
+        if (autoplay != mAutoplay) {
+            mAutoplay = autoplay;
+            if (autoplay) {
+                VLCVideoView.this.play();
+            } else {
+                VLCVideoView.this.pause();
+            }
+        }
+    }
+
+    private void reopenMediaAtCurrentTime() {
+        final long currentTime = mMediaPlayer.getTime();
+        final long time = currentTime > 0 ? currentTime : mLastTime > 0 ? mLastTime : mLoadStartTime;
+        VLCVideoView.this.resetPlaybackState();
+        VLCVideoView.this.openMedia(time, mShouldPlay && VLCVideoView.this.isPlaybackAllowed());
+    }
+
+    private void reopenMedia(final long time) {
+        if (mMediaPlayer == null || mSourceUri == null) {
+            return;
+        }
+
+        VLCVideoView.this.resetPlaybackState();
+        VLCVideoView.this.openMedia(time, mShouldPlay && VLCVideoView.this.isPlaybackAllowed());
+    }
+
+    float getVisibilityThreshold() {
+        return mVisibilityThreshold;
+    }
+
+    boolean isPlaybackRequested() {
+        return mShouldPlay && mSourceUri != null;
+    }
+
+    void setActive(final boolean isActive) {
+        if (mIsActive == isActive) {
+            return;
+        }
+
+        mIsActive = isActive;
+        if (mMediaPlayer == null) {
+            return;
+        }
+
+        if (VLCVideoProps.OFFSCREEN_BEHAVIOR_PAUSE.equals(mOffscreenBehavior)) {
+            if (mIsPlayerTrimmed) {
+                if (isActive && mShouldPlay) {
+                    VLCVideoView.this.openMedia(mLastTime, true);
+                }
+
+                return;
+            }
+
+            final MediaPlayer mediaPlayer = mMediaPlayer;
+            final boolean shouldPlay = isActive && mShouldPlay;
+            mCommandQueue.enqueue(new Runnable() {
+
+                @Override
+                public void run() {
+                    if (shouldPlay) {
+                        mediaPlayer.play();
+                    } else if (mediaPlayer.isPlaying()) {
+                        mediaPlayer.pause();
+                    }
+                }
+
+            });
+        } else if (VLCVideoProps.OFFSCREEN_BEHAVIOR_SUSPEND_VIDEO.equals(mOffscreenBehavior)) {
+            if (isActive) {
+                VLCVideoView.this.resumeVideo();
+            } else {
+                VLCVideoView.this.suspendVideo();
+            }
+        }
+    }
+
+    void trimNetworkCaching() {
+        if (mMediaOptions != null && mMediaOptions.isAdaptiveCaching()) {
+            mAdaptiveCaching.reset(mMediaOptions.getNetworkCaching());
+        }
+    }
+
+    boolean releaseIdlePlayer() {
+        if (mMediaPlayer == null ||
+                mSourceUri == null ||
+                mIsPlayerTrimmed ||
+                mIsSeekRequested ||
+                mMediaPlayer.isPlaying() ||
+                (mShouldPlay && VLCVideoView.this.isPlaybackAllowed())) {
+            return false;
+        }
+
+        mLastTime = Math.max(mMediaPlayer.getTime(), mLastTime);
+        VLCVideoView.this.saveResumePosition();
+        VLCVideoView.this.clearNextMedia();
+        VLCVideoView.this.stop();
+        mIsPlayerTrimmed = true;
+        return true;
+    }
+
+    void onMemoryTrimmed(final int level, final boolean playerReleased, final int idlePlayersReleased, final int cacheBytesReleased) {
+        mEventEmitter.emitOnMemoryTrimmed(level, playerReleased, idlePlayersReleased, cacheBytesReleased);
+    }
+
+    private boolean isPlaybackAllowed() {
+        return mIsActive || !VLCVideoProps.OFFSCREEN_BEHAVIOR_PAUSE.equals(mOffscreenBehavior);
+    }
+
+    private void suspendVideo() {
+        if (mIsVideoSuspended) {
+            return;
+        }
+
+        mIsVideoSuspended = true;
+        final MediaPlayer mediaPlayer = mMediaPlayer;
+        mCommandQueue.enqueue(new Runnable() {
+
+            @Override
+            public void run() {
+                mediaPlayer.setVideoTrackEnabled(false);
+            }
+
+        });
+    }
+
+    private void resumeVideo() {
+        if (!mIsVideoSuspended || mMediaPlayer == null) {
+            return;
+        }
+
+        mIsVideoSuspended = false;
+        if (mIsOpenedWithoutVideo) {
+            mIsOpenedWithoutVideo = false;
+            if (!mIsPlayerTrimmed) {
+                VLCVideoView.this.reopenMediaAtCurrentTime();
+            }
+
+            return;
+        }
+
+        final MediaPlayer mediaPlayer = mMediaPlayer;
+        mCommandQueue.enqueue(new Runnable() {
+
+            @Override
+            public void run() {
+                mediaPlayer.setVideoTrackEnabled(true);
+            }
+
+        });
+    }
+
+    private void saveResumePosition() {
+        if (mResumeInterval > 0 && mResumeKey != null && mLastTime > 0) {
+            mLastResumeSaveUptime = SystemClock.uptimeMillis();
+            mResumeStore.put(mResumeKey, mLastTime);
+        }
+    }
+
+    private void onVideoTrackAdded() {
+        final Media media = mMediaPlayer.getMedia();
+        if (media == null) {
+            return;
+        }
+
+        mFormatKey = VLCVideoDecoderCache.getFormatKey(media);
+        media.release();
+        if (mHwDecoderEnabled && !mDecoderCache.isHwDecoderUsable(mFormatKey)) {
+            mHwDecoderEnabled = false;
+            VLCVideoView.this.reopenMedia(Math.max(mMediaPlayer.getTime(), mLastTime));
+        }
+    }
+
+    private void recoverFromStall(final int attempt) {
+        if (mMediaPlayer == null || mSourceUri == null) {
+            return;
+        }
+
+        final boolean isLive = !mMediaPlayer.isSeekable() || mMediaPlayer.getLength() <= 0;
+        final long time = isLive ? 0 : mLastTime;
+        mEventEmitter.emitOnRecovering(attempt, time);
+        VLCVideoView.this.reopenMedia(time);
+    }
+
+    private void failPlayback(final String message) {
+        VLCVideoView.this.updatePlaybackState(mPlaybackState.get().withState(VLCVideoPlaybackState.ERROR));
+        mIsDecoderFallback = false;
+        mEventEmitter.flushTimeChanged();
+        mEventEmitter.emitOnError(message, true);
+        mPlaybackMetrics.onError();
+        VLCVideoView.this.endPlaybackMetricsSession();
+        VLCVideoView.this.stop();
+        VLCVideoView.this.clearPlaybackNotification();
+    }
+
+    private Media.Stats getMediaStats() {
+        final Media media = mMediaPlayer.getMedia();
+        if (media == null) {
+            return null;
+        }
+
+        try {
+            return media.getStats();
+        } finally {
+            media.release();
+        }
+    }
+
+    private void resetDecoderCheck() {
+        mIsHwDecoderConfirmed = false;
+        mDecoderCheckUptime = SystemClock.uptimeMillis();
+        mDecoderCheckReadBytes = 0;
+        mDecoderCheckDecodedVideo = 0;
+    }
+
+    private void updateDecoderCheck() {
+        mDecoderCheckUptime = SystemClock.uptimeMillis();
+        final Media.Stats stats = VLCVideoView.this.getMediaStats();
+        if (stats == null) {
+            return;
+        }
+
+        if (mHwDecoderEnabled && !mIsHwDecoderConfirmed && mFormatKey != null && stats.decodedVideo > mDecoderCheckDecodedVideo) {
+            mIsHwDecoderConfirmed = true;
+            mDecoderCache.markHwDecoderSucceeded(mFormatKey);
+        }
+
+        mDecoderCheckReadBytes = stats.readBytes;
+        mDecoderCheckDecodedVideo = stats.decodedVideo;
+    }
+
+    private boolean isVideoDecoderStalled() {
+        final Media.Stats stats = VLCVideoView.this.getMediaStats();
+        return stats != null && stats.readBytes > mDecoderCheckReadBytes && stats.decodedVideo <= mDecoderCheckDecodedVideo;
+    }
+
+    private void fallbackToSoftwareDecoder() {
+        mIsDecoderFallback = true;
+        mHwDecoderEnabled = false;
+        VLCVideoView.this.reopenMedia(mLastTime);
+    }
+
+    private void recyclePlayer(final MediaPlayer mediaPlayer) {
+        mCommandQueue.enqueue(new Runnable() {
+
+            @Override
+            public void run() {
+                mPlayerPool.recycle(mediaPlayer);
+            }
+
+        });
+    }
+
+    private void switchToStandbyPlayer(final String title, final boolean autoplay, final long startTime, final boolean hwDecoderEnabled, final String resumeKey, final VLCVideoMediaOptions mediaOptions) {
+        final MediaPlayer previousPlayer = mMediaPlayer;
+        VLCVideoView.this.saveResumePosition();
+        VLCVideoView.this.detachVLCVoutViews();
+        previousPlayer.setEventListener(null);
+        mStallWatchdog.stop();
+        VLCVideoView.this.resetPlaybackState();
+        VLCVideoView.this.endPlaybackMetricsSession();
+        mPlaybackMetrics.startPrebufferedSession();
+        VLCVideoView.this.recyclePlayer(previousPlayer);
+
+        mMediaPlayer = mStandbyPlayer;
+        mStandbyPlayer = null;
+        VLCVideoView.this.updatePlaybackState(VLCVideoPlaybackState.INITIAL);
+        mSourceUri = mNextSourceUri;
+        mThumbnailExtractor.setSource(mSourceUri.toString());
+        mResumeKey = resumeKey;
+        mLastResumeSaveUptime = SystemClock.uptimeMillis();
+        mAutoplay = autoplay;
+        mShouldPlay = autoplay;
+        mDecodeQuality = VLCVideoView.this.getSurfaceDecodeQuality();
+        mIsDecodeQualityProvisional = false;
+        mHwDecoderEnabled = mNextHwDecoderEnabled;
+        mRequestedHwDecoderEnabled = hwDecoderEnabled;
+        mIsDecoderFallback = false;
+        mFormatKey = null;
+        mIsVideoTrackAdded = mMediaPlayer.getVideoTracksCount() > 0;
+        mIsOpenedWithoutVideo = false;
+        VLCVideoView.this.resetDecoderCheck();
+        mLastTime = 0;
+        mLoadStartTime = startTime;
+        mMediaOptions = mediaOptions;
+        mAdaptiveCaching.reset(mMediaOptions.getNetworkCaching());
+        mNextSourceUri = null;
+        mNextTitle = null;
+        mNextResumeKey = null;
+        mNextMediaOptions = null;
+        mTitle = title;
+
+        final MediaPlayer mediaPlayer = mMediaPlayer;
+        final boolean isAttachedToWindow = isAttachedToWindow();
+        final boolean isVideoSuspended = mIsVideoSuspended;
+        if (isAttachedToWindow) {
+            mMediaPlayer.setEventListener(mMediaPlayerEventListener);
+            VLCVideoView.this.attachVLCVoutViews();
+            if (mWindowWidth * mWindowHeight > 0) {
+                mMediaPlayer.getVLCVout().setWindowSize(mWindowWidth, mWindowHeight);
+            }
+        }
+
+        mCommandQueue.enqueue(new Runnable() {
+
+            @Override
+            public void run() {
+                if (isAttachedToWindow) {
+                    mediaPlayer.setVideoTrackEnabled(false);
+                    if (!isVideoSuspended) {
+                        mediaPlayer.setVideoTrackEnabled(true);
+                    }
+                }
+
+                if (autoplay) {
+                    mediaPlayer.play();
+                }
+            }
+
+        });
+        VLCVideoView.this.updatePlaybackNotification();
+    }
+
+    private void updatePlaybackState(final VLCVideoPlaybackState playbackState) {
+        mPlaybackState.set(playbackState);
+    }
+
+    private void updateBufferingState(final float buffering) {
+        final VLCVideoPlaybackState playbackState = mPlaybackState.get();
+        final String state = playbackState.getState();
+        if (buffering < 100 && (VLCVideoPlaybackState.PLAYING.equals(state) || VLCVideoPlaybackState.OPENING.equals(state))) {
+            VLCVideoView.this.updatePlaybackState(playbackState.withBuffering(VLCVideoPlaybackState.BUFFERING, buffering));
+        } else if (buffering >= 100 && VLCVideoPlaybackState.BUFFERING.equals(state)) {
+            VLCVideoView.this.updatePlaybackState(playbackState.withBuffering(VLCVideoPlaybackState.PLAYING, buffering));
+        } else {
+            VLCVideoView.this.updatePlaybackState(playbackState.withBuffering(state, buffering));
+        }
+    }
+
+    private void endPlaybackMetricsSession() {
+        if (mPlaybackMetrics.isSessionActive()) {
+            mPlaybackMetrics.endSession();
+            mEventEmitter.emitOnPlaybackMetrics(mPlaybackMetrics);
+        }
     }
 
     private void attachVLCVoutViews() {
@@ -268,58 +1166,11 @@ public final class VLCVideoView extends SurfaceView {
     }
 
     private void updatePlaybackNotification() {
-        try {
-            final String channelId = getResources().getString(getResources().getIdentifier(CHANNEL_ID_RESOURCE_NAME, "string", mThemedReactContext.getPackageName()));
-            final int smallIconResId = getResources().getIdentifier(SMALL_ICON_RESOURCE_NAME, "drawable", mThemedReactContext.getPackageName());
-            final int largeIconResId = getResources().getIdentifier(LARGE_ICON_RESOURCE_NAME, "drawable", mThemedReactContext.getPackageName());
-            final int playIconResId = getResources().getIdentifier(PLAY_ICON_RESOURCE_NAME, "drawable", mThemedReactContext.getPackageName());
-            final int pauseIconResId = getResources().getIdentifier(PAUSE_ICON_RESOURCE_NAME, "drawable", mThemedReactContext.getPackageName());
-            final Bitmap lergeIconBitmap = BitmapFactory.decodeResource(getResources(), largeIconResId);
-            final Intent playbackIntent = new Intent(mThemedReactContext, mThemedReactContext.getCurrentActivity().getClass());
-            final NotificationCompat.Builder notificationBuilder = new NotificationCompat.Builder(mThemedReactContext, channelId)
-                    .setContentTitle(mTitle != null ? mTitle : "")
-                    .setSmallIcon(smallIconResId)
-                    .setLargeIcon(lergeIconBitmap)
-                    .setPriority(NotificationCompat.PRIORITY_DEFAULT)
-                    .setAutoCancel(false);
-            if (mMediaPlayer.isPlaying()) {
-                playbackIntent.setAction(PAUSE_INTENT_ACTION);
-                notificationBuilder.addAction(
-                        new NotificationCompat.Action.Builder(
-                                pauseIconResId,
-                                "Pause",
-                                PendingIntent.getActivity(
-                                        mThemedReactContext,
-                                        PLAYBACK_NOTIFICATION_ID,
-                                        playbackIntent,
-                                        PendingIntent.FLAG_UPDATE_CURRENT
-                                )
-                        ).build()
-                );
-            } else {
-                playbackIntent.setAction(PLAY_INTENT_ACTION);
-                notificationBuilder.addAction(
-                        new NotificationCompat.Action.Builder(
-                                playIconResId,
-                                "Play",
-                                PendingIntent.getActivity(
-                                        mThemedReactContext,
-                                        PLAYBACK_NOTIFICATION_ID,
-                                        playbackIntent,
-                                        PendingIntent.FLAG_UPDATE_CURRENT
-                                )
-                        ).build()
-                );
-            }
-
-            NotificationManagerCompat.from(mThemedReactContext).notify(PLAYBACK_NOTIFICATION_ID, notificationBuilder.build());
-        } catch (final Throwable e) {
-            e.printStackTrace();
-        }
+        mNotificationRenderer.update(mTitle, mMediaPlayer != null && mMediaPlayer.isPlaying());
     }
 
     private void clearPlaybackNotification() {
-        NotificationManagerCompat.from(mThemedReactContext).cancel(PLAYBACK_NOTIFICATION_ID);
+        mNotificationRenderer.cancel();
     }
 
 }
@@ -10,8 +10,8 @@ import com.facebook.react.uimanager.SimpleViewManager;
 import com.facebook.react.uimanager.ThemedReactContext;
 import com.facebook.react.uimanager.annotations.ReactProp;
 
-import org.videolan.libvlc.LibVLC;
-
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 final class VLCVideoViewManager extends SimpleViewManager<VLCVideoView> {
@@ -20,13 +20,26 @@ final class VLCVideoViewManager extends SimpleViewManager<VLCVideoView> {
     private static final String REACT_REGISTRATION_NAME = "registrationName";
 
     private final View.OnKeyListener mOnKeyListener;
-    private final LibVLC mLibVLC;
+    private final VLCVideoLibVLCProvider mLibVLCProvider;
     private final VLCVideoCallbackManager mCallbackManager;
+    private final VLCVideoPlayerPool mPlayerPool;
+    private final VLCVideoCacheProxy mCacheProxy;
+    private final VLCVideoResumeStore mResumeStore;
+    private final VLCVideoVisibilityTracker mVisibilityTracker;
+    private final VLCVideoMemoryGovernor mMemoryGovernor;
+    private final VLCVideoViewRegistry mViewRegistry;
+    private VLCVideoEventBatcher mEventBatcher;
 
-    public VLCVideoViewManager(final View.OnKeyListener onKeyListener, final LibVLC libVLC, final VLCVideoCallbackManager callbackManager) {
+    public VLCVideoViewManager(final View.OnKeyListener onKeyListener, final VLCVideoLibVLCProvider libVLCProvider, final VLCVideoCallbackManager callbackManager, final VLCVideoPlayerPool playerPool, final VLCVideoCacheProxy cacheProxy, final VLCVideoResumeStore resumeStore, final VLCVideoVisibilityTracker visibilityTracker, final VLCVideoMemoryGovernor memoryGovernor, final VLCVideoViewRegistry viewRegistry) {
         mOnKeyListener = onKeyListener;
-        mLibVLC = libVLC;
+        mLibVLCProvider = libVLCProvider;
         mCallbackManager = callbackManager;
+        mPlayerPool = playerPool;
+        mCacheProxy = cacheProxy;
+        mResumeStore = resumeStore;
+        mVisibilityTracker = visibilityTracker;
+        mMemoryGovernor = memoryGovernor;
+        mViewRegistry = viewRegistry;
     }
 
     @Override
@@ -41,6 +54,9 @@ final class VLCVideoViewManager extends SimpleViewManager<VLCVideoView> {
         commands.put(VLCVideoProps.PLAY_COMMAND_NAME, VLCVideoProps.PLAY_COMMAND_ID);
         commands.put(VLCVideoProps.PAUSE_COMMAND_NAME, VLCVideoProps.PAUSE_COMMAND_ID);
         commands.put(VLCVideoProps.SEEK_COMMAND_NAME, VLCVideoProps.SEEK_COMMAND_ID);
+        commands.put(VLCVideoProps.SWITCH_TO_NEXT_MEDIA_COMMAND_NAME, VLCVideoProps.SWITCH_TO_NEXT_MEDIA_COMMAND_ID);
+        commands.put(VLCVideoProps.REQUEST_PLAYBACK_METRICS_COMMAND_NAME, VLCVideoProps.REQUEST_PLAYBACK_METRICS_COMMAND_ID);
+        commands.put(VLCVideoProps.REQUEST_THUMBNAIL_COMMAND_NAME, VLCVideoProps.REQUEST_THUMBNAIL_COMMAND_ID);
 
         return commands;
     }
@@ -57,6 +73,11 @@ final class VLCVideoViewManager extends SimpleViewManager<VLCVideoView> {
         events.put(VLCVideoEvents.ON_TIME_CHANGED_EVENT, MapBuilder.of(REACT_REGISTRATION_NAME, VLCVideoEvents.ON_TIME_CHANGED_EVENT));
         events.put(VLCVideoEvents.ON_SEEK_PERFORMED_EVENT, MapBuilder.of(REACT_REGISTRATION_NAME, VLCVideoEvents.ON_SEEK_PERFORMED_EVENT));
         events.put(VLCVideoEvents.ON_SEEK_REQUESTED_EVENT, MapBuilder.of(REACT_REGISTRATION_NAME, VLCVideoEvents.ON_SEEK_REQUESTED_EVENT));
+        events.put(VLCVideoEvents.ON_PLAYBACK_METRICS_EVENT, MapBuilder.of(REACT_REGISTRATION_NAME, VLCVideoEvents.ON_PLAYBACK_METRICS_EVENT));
+        events.put(VLCVideoEvents.ON_STATS_EVENT, MapBuilder.of(REACT_REGISTRATION_NAME, VLCVideoEvents.ON_STATS_EVENT));
+        events.put(VLCVideoEvents.ON_THUMBNAIL_EVENT, MapBuilder.of(REACT_REGISTRATION_NAME, VLCVideoEvents.ON_THUMBNAIL_EVENT));
+        events.put(VLCVideoEvents.ON_MEMORY_TRIMMED_EVENT, MapBuilder.of(REACT_REGISTRATION_NAME, VLCVideoEvents.ON_MEMORY_TRIMMED_EVENT));
+        events.put(VLCVideoEvents.ON_RECOVERING_EVENT, MapBuilder.of(REACT_REGISTRATION_NAME, VLCVideoEvents.ON_RECOVERING_EVENT));
 
         return events;
     }
@@ -73,13 +94,23 @@ final class VLCVideoViewManager extends SimpleViewManager<VLCVideoView> {
         constants.put("ON_TIME_CHANGED", VLCVideoEvents.ON_TIME_CHANGED_EVENT);
         constants.put("ON_SEEK_PERFORMED", VLCVideoEvents.ON_SEEK_PERFORMED_EVENT);
         constants.put("ON_SEEK_REQUESTED", VLCVideoEvents.ON_SEEK_REQUESTED_EVENT);
+        constants.put("ON_PLAYBACK_METRICS", VLCVideoEvents.ON_PLAYBACK_METRICS_EVENT);
+        constants.put("ON_STATS", VLCVideoEvents.ON_STATS_EVENT);
+        constants.put("ON_THUMBNAIL", VLCVideoEvents.ON_THUMBNAIL_EVENT);
+        constants.put("ON_MEMORY_TRIMMED", VLCVideoEvents.ON_MEMORY_TRIMMED_EVENT);
+        constants.put("ON_RECOVERING", VLCVideoEvents.ON_RECOVERING_EVENT);
+        constants.put("EVENT_BATCH", VLCVideoEvents.EVENT_BATCH_EVENT);
 
         return constants;
     }
 
     @Override
     protected VLCVideoView createViewInstance(final ThemedReactContext themedReactContext) {
-        return new VLCVideoView(themedReactContext, mLibVLC, mCallbackManager);
+        if (mEventBatcher == null) {
+            mEventBatcher = new VLCVideoEventBatcher(themedReactContext);
+        }
+
+        return new VLCVideoView(themedReactContext, mLibVLCProvider.get(), mCallbackManager, mPlayerPool, mCacheProxy, mEventBatcher, mResumeStore, mVisibilityTracker, mMemoryGovernor, mViewRegistry);
     }
 
     @Override
@@ -100,57 +131,56 @@ final class VLCVideoViewManager extends SimpleViewManager<VLCVideoView> {
                     videoView.seek(seekTime);
                 }
                 break;
+            case VLCVideoProps.SWITCH_TO_NEXT_MEDIA_COMMAND_ID:
+                videoView.switchToNextMedia();
+                break;
+            case VLCVideoProps.REQUEST_PLAYBACK_METRICS_COMMAND_ID:
+                videoView.requestPlaybackMetrics();
+                break;
+            case VLCVideoProps.REQUEST_THUMBNAIL_COMMAND_ID:
+                if (args != null &&
+                        args.size() > 0 &&
+                        !args.isNull(VLCVideoProps.REQUEST_THUMBNAIL_COMMAND_TIME_ARGUMENT_INDEX) &&
+                        args.getType(VLCVideoProps.REQUEST_THUMBNAIL_COMMAND_TIME_ARGUMENT_INDEX) == ReadableType.Number) {
+                    final long thumbnailTime = (long) args.getDouble(VLCVideoProps.REQUEST_THUMBNAIL_COMMAND_TIME_ARGUMENT_INDEX);
+                    videoView.requestThumbnail(thumbnailTime);
+                }
+                break;
         }
     }
 
     @ReactProp(name = VLCVideoProps.MEDIA_PROP)
     public void loadMedia(final VLCVideoView videoView, final ReadableMap media) {
-        if (media == null ||
-                !media.hasKey(VLCVideoProps.MEDIA_SOURCE_URL_PROP) ||
-                media.isNull(VLCVideoProps.MEDIA_SOURCE_URL_PROP) ||
-                media.getType(VLCVideoProps.MEDIA_SOURCE_URL_PROP) != ReadableType.String) {
+        final String sourceUrl = VLCVideoViewManager.getString(media, VLCVideoProps.MEDIA_SOURCE_URL_PROP, null);
+        if (sourceUrl == null) {
             return;
         }
 
-        final String sourceUrl = media.getString(VLCVideoProps.MEDIA_SOURCE_URL_PROP);
-
-        final long startTime;
-        if (media.hasKey(VLCVideoProps.MEDIA_START_TIME_PROP) &&
-                !media.isNull(VLCVideoProps.MEDIA_START_TIME_PROP) &&
-                media.getType(VLCVideoProps.MEDIA_START_TIME_PROP) == ReadableType.Number) {
-            startTime = (long) media.getDouble(VLCVideoProps.MEDIA_START_TIME_PROP);
-        } else {
-            startTime = VLCVideoProps.MEDIA_START_TIME_DEFAULT_VALUE;
-        }
+        final long startTime = VLCVideoViewManager.getLong(media, VLCVideoProps.MEDIA_START_TIME_PROP, VLCVideoProps.MEDIA_START_TIME_DEFAULT_VALUE);
+        final boolean autoplay = VLCVideoViewManager.getBoolean(media, VLCVideoProps.MEDIA_AUTOPLAY_PROP, VLCVideoProps.MEDIA_AUTOPLAY_DEFAULT_VALUE);
+        final boolean hwDecoderEnabled = VLCVideoViewManager.getBoolean(media, VLCVideoProps.MEDIA_HW_DECODER_ENABLED_PROP, VLCVideoProps.MEDIA_HW_DECODER_ENABLED_DEFAULT_VALUE);
+        final String title = VLCVideoViewManager.getString(media, VLCVideoProps.MEDIA_TITLE_PROP, VLCVideoProps.MEDIA_TITLE_DEFAULT_VALUE);
+        final String resumeKey = VLCVideoViewManager.getString(media, VLCVideoProps.MEDIA_RESUME_KEY_PROP, sourceUrl);
+        final VLCVideoMediaOptions mediaOptions = VLCVideoViewManager.getMediaOptions(media, VLCVideoMediaOptions.UNSET_VALUE);
 
-        final boolean autoplay;
-        if (media.hasKey(VLCVideoProps.MEDIA_AUTOPLAY_PROP) &&
-                !media.isNull(VLCVideoProps.MEDIA_AUTOPLAY_PROP) &&
-                media.getType(VLCVideoProps.MEDIA_AUTOPLAY_PROP) == ReadableType.Boolean) {
-            autoplay = media.getBoolean(VLCVideoProps.MEDIA_AUTOPLAY_PROP);
-        } else {
-            autoplay = VLCVideoProps.MEDIA_AUTOPLAY_DEFAULT_VALUE;
-        }
+        videoView.loadMedia(sourceUrl, startTime, autoplay, hwDecoderEnabled, title, resumeKey, mediaOptions);
+    }
 
-        final boolean hwDecoderEnabled;
-        if (media.hasKey(VLCVideoProps.MEDIA_HW_DECODER_ENABLED_PROP) &&
-                !media.isNull(VLCVideoProps.MEDIA_HW_DECODER_ENABLED_PROP) &&
-                media.getType(VLCVideoProps.MEDIA_HW_DECODER_ENABLED_PROP) == ReadableType.Boolean) {
-            hwDecoderEnabled = media.getBoolean(VLCVideoProps.MEDIA_HW_DECODER_ENABLED_PROP);
-        } else {
-            hwDecoderEnabled = VLCVideoProps.MEDIA_HW_DECODER_ENABLED_DEFAULT_VALUE;
+    @ReactProp(name = VLCVideoProps.NEXT_MEDIA_PROP)
+    public void loadNextMedia(final VLCVideoView videoView, final ReadableMap nextMedia) {
+        final String sourceUrl = VLCVideoViewManager.getString(nextMedia, VLCVideoProps.MEDIA_SOURCE_URL_PROP, null);
+        if (sourceUrl == null) {
+            videoView.clearNextMedia();
+            return;
         }
 
-        final String title;
-        if (media.hasKey(VLCVideoProps.MEDIA_TITLE_PROP) &&
-                !media.isNull(VLCVideoProps.MEDIA_TITLE_PROP) &&
-                media.getType(VLCVideoProps.MEDIA_TITLE_PROP) == ReadableType.String) {
-            title = media.getString(VLCVideoProps.MEDIA_TITLE_PROP);
-        } else {
-            title = VLCVideoProps.MEDIA_TITLE_DEFAULT_VALUE;
-        }
+        final long startTime = VLCVideoViewManager.getLong(nextMedia, VLCVideoProps.MEDIA_START_TIME_PROP, VLCVideoProps.MEDIA_START_TIME_DEFAULT_VALUE);
+        final boolean hwDecoderEnabled = VLCVideoViewManager.getBoolean(nextMedia, VLCVideoProps.MEDIA_HW_DECODER_ENABLED_PROP, VLCVideoProps.MEDIA_HW_DECODER_ENABLED_DEFAULT_VALUE);
+        final String title = VLCVideoViewManager.getString(nextMedia, VLCVideoProps.MEDIA_TITLE_PROP, VLCVideoProps.MEDIA_TITLE_DEFAULT_VALUE);
+        final String resumeKey = VLCVideoViewManager.getString(nextMedia, VLCVideoProps.MEDIA_RESUME_KEY_PROP, sourceUrl);
+        final VLCVideoMediaOptions mediaOptions = VLCVideoViewManager.getMediaOptions(nextMedia, VLCVideoProps.NEXT_MEDIA_NETWORK_CACHING_DEFAULT_VALUE);
 
-        videoView.loadMedia(sourceUrl, startTime, autoplay, hwDecoderEnabled, title);
+        videoView.loadNextMedia(sourceUrl, startTime, hwDecoderEnabled, title, resumeKey, mediaOptions);
     }
 
     @ReactProp(name = VLCVideoProps.KEY_CONTROL_ENABLED_PROP, defaultBoolean = VLCVideoProps.KEY_CONTROL_ENABLED_DEFAULT_VALUE)
@@ -171,4 +201,118 @@ final class VLCVideoViewManager extends SimpleViewManager<VLCVideoView> {
         videoView.setPlayInBackground(playInBackground);
     }
 
+    @ReactProp(name = VLCVideoProps.AUDIO_ONLY_IN_BACKGROUND_PROP, defaultBoolean = VLCVideoProps.AUDIO_ONLY_IN_BACKGROUND_DEFAULT_VALUE)
+    public void setAudioOnlyInBackground(final VLCVideoView videoView, final boolean audioOnlyInBackground) {
+        videoView.setAudioOnlyInBackground(audioOnlyInBackground);
+    }
+
+    @ReactProp(name = VLCVideoProps.TIME_UPDATE_INTERVAL_PROP, defaultInt = VLCVideoProps.TIME_UPDATE_INTERVAL_DEFAULT_VALUE)
+    public void setTimeUpdateInterval(final VLCVideoView videoView, final int timeUpdateInterval) {
+        videoView.setTimeUpdateInterval(timeUpdateInterval);
+    }
+
+    @ReactProp(name = VLCVideoProps.TIME_UPDATE_WHOLE_SECONDS_PROP, defaultBoolean = VLCVideoProps.TIME_UPDATE_WHOLE_SECONDS_DEFAULT_VALUE)
+    public void setTimeUpdateWholeSeconds(final VLCVideoView videoView, final boolean timeUpdateWholeSeconds) {
+        videoView.setTimeUpdateWholeSeconds(timeUpdateWholeSeconds);
+    }
+
+    @ReactProp(name = VLCVideoProps.STATS_INTERVAL_PROP, defaultInt = VLCVideoProps.STATS_INTERVAL_DEFAULT_VALUE)
+    public void setStatsInterval(final VLCVideoView videoView, final int statsInterval) {
+        videoView.setStatsInterval(statsInterval);
+    }
+
+    @ReactProp(name = VLCVideoProps.THUMBNAIL_DISK_CACHE_ENABLED_PROP, defaultBoolean = VLCVideoProps.THUMBNAIL_DISK_CACHE_ENABLED_DEFAULT_VALUE)
+    public void setThumbnailDiskCacheEnabled(final VLCVideoView videoView, final boolean thumbnailDiskCacheEnabled) {
+        videoView.setThumbnailDiskCacheEnabled(thumbnailDiskCacheEnabled);
+    }
+
+    @ReactProp(name = VLCVideoProps.EVENT_BATCHING_ENABLED_PROP, defaultBoolean = VLCVideoProps.EVENT_BATCHING_ENABLED_DEFAULT_VALUE)
+    public void setEventBatchingEnabled(final VLCVideoView videoView, final boolean eventBatchingEnabled) {
+        videoView.setEventBatchingEnabled(eventBatchingEnabled);
+    }
+
+    @ReactProp(name = VLCVideoProps.RESUME_INTERVAL_PROP, defaultInt = VLCVideoProps.RESUME_INTERVAL_DEFAULT_VALUE)
+    public void setResumeInterval(final VLCVideoView videoView, final int resumeInterval) {
+        videoView.setResumeInterval(resumeInterval);
+    }
+
+    @ReactProp(name = VLCVideoProps.SIZE_AWARE_QUALITY_ENABLED_PROP, defaultBoolean = VLCVideoProps.SIZE_AWARE_QUALITY_ENABLED_DEFAULT_VALUE)
+    public void setSizeAwareQualityEnabled(final VLCVideoView videoView, final boolean sizeAwareQualityEnabled) {
+        videoView.setSizeAwareQualityEnabled(sizeAwareQualityEnabled);
+    }
+
+    @ReactProp(name = VLCVideoProps.OFFSCREEN_BEHAVIOR_PROP)
+    public void setOffscreenBehavior(final VLCVideoView videoView, final String offscreenBehavior) {
+        videoView.setOffscreenBehavior(offscreenBehavior);
+    }
+
+    @ReactProp(name = VLCVideoProps.VISIBILITY_THRESHOLD_PROP, defaultFloat = VLCVideoProps.VISIBILITY_THRESHOLD_DEFAULT_VALUE)
+    public void setVisibilityThreshold(final VLCVideoView videoView, final float visibilityThreshold) {
+        videoView.setVisibilityThreshold(visibilityThreshold);
+    }
+
+    @ReactProp(name = VLCVideoProps.STALL_TIMEOUT_PROP, defaultInt = VLCVideoProps.STALL_TIMEOUT_DEFAULT_VALUE)
+    public void setStallTimeout(final VLCVideoView videoView, final int stallTimeout) {
+        videoView.setStallTimeout(stallTimeout);
+    }
+
+    static VLCVideoMediaOptions getMediaOptions(final ReadableMap media, final long defaultNetworkCaching) {
+        final long networkCaching = VLCVideoViewManager.getLong(media, VLCVideoProps.MEDIA_NETWORK_CACHING_PROP, defaultNetworkCaching);
+        final long fileCaching = VLCVideoViewManager.getLong(media, VLCVideoProps.MEDIA_FILE_CACHING_PROP, VLCVideoMediaOptions.UNSET_VALUE);
+        final long liveCaching = VLCVideoViewManager.getLong(media, VLCVideoProps.MEDIA_LIVE_CACHING_PROP, VLCVideoMediaOptions.UNSET_VALUE);
+        final long clockJitter = VLCVideoViewManager.getLong(media, VLCVideoProps.MEDIA_CLOCK_JITTER_PROP, VLCVideoMediaOptions.UNSET_VALUE);
+        final boolean adaptiveCaching = VLCVideoViewManager.getBoolean(media, VLCVideoProps.MEDIA_ADAPTIVE_CACHING_PROP, VLCVideoProps.MEDIA_ADAPTIVE_CACHING_DEFAULT_VALUE);
+        final boolean localCacheEnabled = VLCVideoViewManager.getBoolean(media, VLCVideoProps.MEDIA_LOCAL_CACHE_ENABLED_PROP, VLCVideoProps.MEDIA_LOCAL_CACHE_ENABLED_DEFAULT_VALUE);
+        final List<String> options = new ArrayList<>();
+        if (media != null &&
+                media.hasKey(VLCVideoProps.MEDIA_OPTIONS_PROP) &&
+                !media.isNull(VLCVideoProps.MEDIA_OPTIONS_PROP) &&
+                media.getType(VLCVideoProps.MEDIA_OPTIONS_PROP) == ReadableType.Array) {
+            final ReadableArray optionsArray = media.getArray(VLCVideoProps.MEDIA_OPTIONS_PROP);
+            for (int index = 0; index < optionsArray.size(); index++) {
+                if (optionsArray.getType(index) == ReadableType.String) {
+                    final String option = optionsArray.getString(index);
+                    if (VLCVideoMediaOptions.isValidOption(option)) {
+                        options.add(option);
+                    }
+                }
+            }
+        }
+
+        return new VLCVideoMediaOptions(networkCaching, fileCaching, liveCaching, clockJitter, adaptiveCaching, localCacheEnabled, options);
+    }
+
+    static String getString(final ReadableMap map, final String key, final String defaultValue) {
+        if (map != null &&
+                map.hasKey(key) &&
+                !map.isNull(key) &&
+                map.getType(key) == ReadableType.String) {
+            return map.getString(key);
+        }
+
+        return defaultValue;
+    }
+
+    static long getLong(final ReadableMap map, final String key, final long defaultValue) {
+        if (map != null &&
+                map.hasKey(key) &&
+                !map.isNull(key) &&
+                map.getType(key) == ReadableType.Number) {
+            return (long) map.getDouble(key);
+        }
+
+        return defaultValue;
+    }
+
+    static boolean getBoolean(final ReadableMap map, final String key, final boolean defaultValue) {
+        if (map != null &&
+                map.hasKey(key) &&
+                !map.isNull(key) &&
+                map.getType(key) == ReadableType.Boolean) {
+            return map.getBoolean(key);
+        }
+
+        return defaultValue;
+    }
+
 }
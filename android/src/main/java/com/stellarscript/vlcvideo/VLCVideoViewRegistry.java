@@ -0,0 +1,25 @@
+package com.stellarscript.vlcvideo;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+final class VLCVideoViewRegistry {
+
+    private final ConcurrentHashMap<Integer, VLCVideoView> mVideoViews;
+
+    VLCVideoViewRegistry() {
+        mVideoViews = new ConcurrentHashMap<>();
+    }
+
+    void register(final VLCVideoView videoView) {
+        mVideoViews.put(videoView.getId(), videoView);
+    }
+
+    void unregister(final VLCVideoView videoView) {
+        mVideoViews.remove(videoView.getId(), videoView);
+    }
+
+    VLCVideoView get(final int viewTag) {
+        return mVideoViews.get(viewTag);
+    }
+
+}
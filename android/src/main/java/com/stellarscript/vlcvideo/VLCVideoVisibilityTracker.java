@@ -0,0 +1,131 @@
+package com.stellarscript.vlcvideo;
+
+import android.graphics.Rect;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.ViewTreeObserver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+
+final class VLCVideoVisibilityTracker {
+
+    static final int UNLIMITED_ACTIVE_PLAYERS = 0;
+
+    private final Handler mHandler;
+    private final Rect mVisibleRect;
+    private final LinkedHashSet<VLCVideoView> mVideoViews;
+    private int mMaxActivePlayers;
+    private boolean mIsUpdateScheduled;
+    private final Runnable mUpdateRunnable = new Runnable() {
+
+        @Override
+        public void run() {
+            mIsUpdateScheduled = false;
+            VLCVideoVisibilityTracker.this.update();
+        }
+
+    };
+    private final ViewTreeObserver.OnScrollChangedListener mOnScrollChangedListener = new ViewTreeObserver.OnScrollChangedListener() {
+
+        @Override
+        public void onScrollChanged() {
+            VLCVideoVisibilityTracker.this.scheduleUpdate();
+        }
+
+    };
+    private final ViewTreeObserver.OnGlobalLayoutListener mOnGlobalLayoutListener = new ViewTreeObserver.OnGlobalLayoutListener() {
+
+        @Override
+        public void onGlobalLayout() {
+            VLCVideoVisibilityTracker.this.scheduleUpdate();
+        }
+
+    };
+
+    VLCVideoVisibilityTracker() {
+        mHandler = new Handler(Looper.getMainLooper());
+        mVisibleRect = new Rect();
+        mVideoViews = new LinkedHashSet<>();
+        mMaxActivePlayers = UNLIMITED_ACTIVE_PLAYERS;
+    }
+
+    void setMaxActivePlayers(final int maxActivePlayers) {
+        mMaxActivePlayers = Math.max(maxActivePlayers, UNLIMITED_ACTIVE_PLAYERS);
+        VLCVideoVisibilityTracker.this.scheduleUpdate();
+    }
+
+    void register(final VLCVideoView videoView) {
+        if (!mVideoViews.add(videoView)) {
+            return;
+        }
+
+        final ViewTreeObserver viewTreeObserver = videoView.getViewTreeObserver();
+        viewTreeObserver.addOnScrollChangedListener(mOnScrollChangedListener);
+        viewTreeObserver.addOnGlobalLayoutListener(mOnGlobalLayoutListener);
+        VLCVideoVisibilityTracker.this.scheduleUpdate();
+    }
+
+    void unregister(final VLCVideoView videoView) {
+        if (!mVideoViews.remove(videoView)) {
+            return;
+        }
+
+        final ViewTreeObserver viewTreeObserver = videoView.getViewTreeObserver();
+        if (viewTreeObserver.isAlive()) {
+            viewTreeObserver.removeOnScrollChangedListener(mOnScrollChangedListener);
+            viewTreeObserver.removeOnGlobalLayoutListener(mOnGlobalLayoutListener);
+        }
+
+        VLCVideoVisibilityTracker.this.scheduleUpdate();
+    }
+
+    void scheduleUpdate() {
+        if (!mIsUpdateScheduled && !mVideoViews.isEmpty()) {
+            mIsUpdateScheduled = true;
+            mHandler.post(mUpdateRunnable);
+        }
+    }
+
+    private void update() {
+        final ArrayList<VLCVideoView> candidates = new ArrayList<>();
+        final HashMap<VLCVideoView, Float> visibleFractions = new HashMap<>();
+        for (final VLCVideoView videoView : mVideoViews) {
+            final float visibleFraction = VLCVideoVisibilityTracker.this.getVisibleFraction(videoView);
+            if (visibleFraction <= 0 || visibleFraction < videoView.getVisibilityThreshold()) {
+                videoView.setActive(false);
+            } else if (videoView.isPlaybackRequested()) {
+                visibleFractions.put(videoView, visibleFraction);
+                candidates.add(videoView);
+            } else {
+                videoView.setActive(true);
+            }
+        }
+
+        Collections.sort(candidates, new Comparator<VLCVideoView>() {
+
+            @Override
+            public int compare(final VLCVideoView videoView1, final VLCVideoView videoView2) {
+                return Float.compare(visibleFractions.get(videoView2), visibleFractions.get(videoView1));
+            }
+
+        });
+        for (int index = 0; index < candidates.size(); index++) {
+            final boolean isActive = mMaxActivePlayers == UNLIMITED_ACTIVE_PLAYERS || index < mMaxActivePlayers;
+            candidates.get(index).setActive(isActive);
+        }
+    }
+
+    private float getVisibleFraction(final VLCVideoView videoView) {
+        final int area = videoView.getWidth() * videoView.getHeight();
+        if (area == 0 || !videoView.isShown() || !videoView.getGlobalVisibleRect(mVisibleRect)) {
+            return 0;
+        }
+
+        return Math.min((float) (mVisibleRect.width() * mVisibleRect.height()) / area, 1f);
+    }
+
+}
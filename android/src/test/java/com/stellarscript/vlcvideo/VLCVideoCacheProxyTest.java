@@ -0,0 +1,210 @@
+package com.stellarscript.vlcvideo;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class VLCVideoCacheProxyTest {
+
+    private static final String LOOPBACK_HOST = "127.0.0.1";
+    private static final long CACHE_ENTRY_TIMEOUT = 5000;
+    private static final String BODY = "segment-data";
+    private static final String PLAYLIST_PATH = "/live/index.m3u8";
+    private static final String REDIRECTED_PLAYLIST_PATH = "/streams/a/index.m3u8";
+    private static final String PLAYLIST = "#EXTM3U\n#EXT-X-TARGETDURATION:1\n#EXTINF:1,\nsegment0.ts\n#EXT-X-ENDLIST\n";
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private HttpServer mOriginServer;
+    private HttpServer mRedirectServer;
+    private AtomicInteger mOriginRequestCount;
+    private AtomicReference<String> mOriginRequestPath;
+    private File mCacheDirectory;
+    private VLCVideoCacheProxy mCacheProxy;
+
+    @Before
+    public void setUp() throws IOException {
+        mOriginRequestCount = new AtomicInteger();
+        mOriginRequestPath = new AtomicReference<>();
+        mOriginServer = HttpServer.create(new InetSocketAddress(LOOPBACK_HOST, 0), 0);
+        mOriginServer.createContext("/", new HttpHandler() {
+
+            @Override
+            public void handle(final HttpExchange exchange) throws IOException {
+                mOriginRequestCount.incrementAndGet();
+                mOriginRequestPath.set(exchange.getRequestURI().getPath());
+                final byte[] body = (exchange.getRequestURI().getPath().endsWith(".m3u8") ? PLAYLIST : BODY).getBytes(UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                try (final OutputStream responseBody = exchange.getResponseBody()) {
+                    responseBody.write(body);
+                }
+            }
+
+        });
+        mOriginServer.start();
+        mRedirectServer = HttpServer.create(new InetSocketAddress(LOOPBACK_HOST, 0), 0);
+        mRedirectServer.createContext("/", new HttpHandler() {
+
+            @Override
+            public void handle(final HttpExchange exchange) throws IOException {
+                final String path = exchange.getRequestURI().getPath();
+                final String targetPath = PLAYLIST_PATH.equals(path) ? REDIRECTED_PLAYLIST_PATH : path;
+                exchange.getResponseHeaders().add("Location", "http://" + LOOPBACK_HOST + ":" + mOriginServer.getAddress().getPort() + targetPath);
+                exchange.sendResponseHeaders(302, -1);
+                exchange.close();
+            }
+
+        });
+        mRedirectServer.start();
+        mCacheDirectory = File.createTempFile("VLCVideoCacheProxyTest", "");
+        mCacheDirectory.delete();
+        mCacheDirectory.mkdirs();
+        mCacheProxy = new VLCVideoCacheProxy(mCacheDirectory);
+    }
+
+    @After
+    public void tearDown() {
+        mCacheProxy.stop();
+        mOriginServer.stop(0);
+        mRedirectServer.stop(0);
+        final File[] files = mCacheDirectory.listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                file.delete();
+            }
+        }
+
+        mCacheDirectory.delete();
+    }
+
+    @Test
+    public void servesRegisteredSourceFromCacheAfterFirstRequest() throws IOException, InterruptedException {
+        final String proxyUrl = mCacheProxy.getProxyUrl(VLCVideoCacheProxyTest.this.getOriginUrl("/video.mp4"));
+
+        assertEquals(200, VLCVideoCacheProxyTest.getResponseCode(proxyUrl));
+        VLCVideoCacheProxyTest.this.awaitCacheEntry();
+        assertEquals(BODY, VLCVideoCacheProxyTest.getResponseBody(proxyUrl));
+        assertEquals(1, mOriginRequestCount.get());
+    }
+
+    @Test
+    public void followsRedirectsToAnotherOrigin() throws IOException {
+        final String sourceUrl = "http://" + LOOPBACK_HOST + ":" + mRedirectServer.getAddress().getPort() + "/video.mp4";
+        final String proxyUrl = mCacheProxy.getProxyUrl(sourceUrl);
+
+        assertEquals(BODY, VLCVideoCacheProxyTest.getResponseBody(proxyUrl));
+        assertEquals(1, mOriginRequestCount.get());
+    }
+
+    @Test
+    public void resolvesRelativeSegmentsOfRedirectedPlaylistAgainstTarget() throws IOException {
+        final String sourceUrl = "http://" + LOOPBACK_HOST + ":" + mRedirectServer.getAddress().getPort() + PLAYLIST_PATH;
+        final String proxyUrl = mCacheProxy.getProxyUrl(sourceUrl);
+        final HttpURLConnection connection = (HttpURLConnection) new URL(proxyUrl).openConnection();
+        final URL playlistUrl;
+        try {
+            assertEquals(PLAYLIST, VLCVideoCacheProxyTest.readFully(connection.getInputStream()));
+            playlistUrl = connection.getURL();
+        } finally {
+            connection.disconnect();
+        }
+
+        assertTrue(playlistUrl.toString().startsWith(proxyUrl.substring(0, proxyUrl.indexOf("/http/"))));
+        assertEquals(BODY, VLCVideoCacheProxyTest.getResponseBody(new URL(playlistUrl, "segment0.ts").toString()));
+        assertEquals("/streams/a/segment0.ts", mOriginRequestPath.get());
+    }
+
+    @Test
+    public void rejectsHostsThatWereNotRegistered() throws IOException {
+        final String registeredUrl = "http://" + LOOPBACK_HOST + ":" + mRedirectServer.getAddress().getPort() + "/video.mp4";
+        final String proxyUrl = mCacheProxy.getProxyUrl(registeredUrl);
+        final String forgedUrl = proxyUrl.replace(":" + mRedirectServer.getAddress().getPort() + "/", ":" + mOriginServer.getAddress().getPort() + "/");
+
+        assertNotEquals(proxyUrl, forgedUrl);
+        assertEquals(403, VLCVideoCacheProxyTest.getResponseCode(forgedUrl));
+        assertEquals(0, mOriginRequestCount.get());
+    }
+
+    @Test
+    public void rejectsRequestsWithoutSessionToken() throws IOException {
+        final String proxyUrl = mCacheProxy.getProxyUrl(VLCVideoCacheProxyTest.this.getOriginUrl("/video.mp4"));
+        final int tokenStart = proxyUrl.indexOf('/', "http://".length());
+        final int tokenEnd = proxyUrl.indexOf('/', tokenStart + 1);
+        final String forgedUrl = proxyUrl.substring(0, tokenStart) + proxyUrl.substring(tokenEnd);
+
+        assertEquals(400, VLCVideoCacheProxyTest.getResponseCode(forgedUrl));
+        assertEquals(0, mOriginRequestCount.get());
+    }
+
+    private void awaitCacheEntry() throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + CACHE_ENTRY_TIMEOUT;
+        while (System.currentTimeMillis() < deadline) {
+            final String[] names = mCacheDirectory.list();
+            if (names != null && names.length == 1 && !names[0].endsWith(".tmp")) {
+                return;
+            }
+
+            Thread.sleep(10);
+        }
+    }
+
+    private String getOriginUrl(final String path) {
+        return "http://" + LOOPBACK_HOST + ":" + mOriginServer.getAddress().getPort() + path;
+    }
+
+    private static int getResponseCode(final String url) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        try {
+            final int responseCode = connection.getResponseCode();
+            if (responseCode < 400) {
+                VLCVideoCacheProxyTest.readFully(connection.getInputStream());
+            }
+
+            return responseCode;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static String getResponseBody(final String url) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        try {
+            return VLCVideoCacheProxyTest.readFully(connection.getInputStream());
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static String readFully(final InputStream inputStream) throws IOException {
+        try (final InputStream bodyStream = inputStream) {
+            final ByteArrayOutputStream body = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[4096];
+            int readSize;
+            while ((readSize = bodyStream.read(buffer)) != -1) {
+                body.write(buffer, 0, readSize);
+            }
+
+            return new String(body.toByteArray(), UTF_8);
+        }
+    }
+
+}
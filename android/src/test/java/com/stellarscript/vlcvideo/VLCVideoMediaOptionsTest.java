@@ -0,0 +1,45 @@
+package com.stellarscript.vlcvideo;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class VLCVideoMediaOptionsTest {
+
+    @Test
+    public void acceptsPassThroughOptions() {
+        assertTrue(VLCVideoMediaOptions.isValidOption(":http-user-agent=VLCVideo"));
+        assertTrue(VLCVideoMediaOptions.isValidOption(":no-audio-time-stretch"));
+        assertTrue(VLCVideoMediaOptions.isValidOption(":sub-track=1"));
+    }
+
+    @Test
+    public void rejectsMalformedOptions() {
+        assertFalse(VLCVideoMediaOptions.isValidOption(null));
+        assertFalse(VLCVideoMediaOptions.isValidOption("--network-caching=100"));
+        assertFalse(VLCVideoMediaOptions.isValidOption(":http-user-agent=a\nb"));
+    }
+
+    @Test
+    public void rejectsStreamOutputOptions() {
+        assertFalse(VLCVideoMediaOptions.isValidOption(":sout=#file{dst=/sdcard/out.ts}"));
+        assertFalse(VLCVideoMediaOptions.isValidOption(":sout-keep"));
+        assertFalse(VLCVideoMediaOptions.isValidOption(":no-sout-all"));
+    }
+
+    @Test
+    public void rejectsOptionsCoveredByTypedProps() {
+        assertFalse(VLCVideoMediaOptions.isValidOption(":network-caching=100"));
+        assertFalse(VLCVideoMediaOptions.isValidOption(":clock-jitter=0"));
+        assertFalse(VLCVideoMediaOptions.isValidOption(":start-time=10"));
+        assertFalse(VLCVideoMediaOptions.isValidOption(":no-video"));
+    }
+
+    @Test
+    public void rejectsInputRedirectionOptions() {
+        assertFalse(VLCVideoMediaOptions.isValidOption(":demux=ts"));
+        assertFalse(VLCVideoMediaOptions.isValidOption(":input-slave=file:///sdcard/audio.mp3"));
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.stellarscript.vlcvideo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class VLCVideoPlaybackMetricsTest {
+
+    private VLCVideoPlaybackMetrics mPlaybackMetrics;
+
+    @Before
+    public void setUp() {
+        mPlaybackMetrics = new VLCVideoPlaybackMetrics();
+        mPlaybackMetrics.startSession();
+        mPlaybackMetrics.onReopen();
+    }
+
+    @Test
+    public void doesNotCountInitialFillAfterPlayingAsRebuffer() {
+        mPlaybackMetrics.onPlaying();
+        assertEquals(-1, mPlaybackMetrics.getStartupTime());
+        VLCVideoPlaybackMetricsTest.this.fillBuffer();
+
+        assertEquals(0, mPlaybackMetrics.getRebufferCount());
+        assertTrue(mPlaybackMetrics.getStartupTime() >= 0);
+    }
+
+    @Test
+    public void doesNotCountFillAfterReopenAsRebuffer() {
+        mPlaybackMetrics.onPlaying();
+        VLCVideoPlaybackMetricsTest.this.fillBuffer();
+        mPlaybackMetrics.onReopen();
+        mPlaybackMetrics.onPlaying();
+        VLCVideoPlaybackMetricsTest.this.fillBuffer();
+
+        assertEquals(0, mPlaybackMetrics.getRebufferCount());
+    }
+
+    @Test
+    public void countsStallAfterInitialFill() {
+        mPlaybackMetrics.onPlaying();
+        VLCVideoPlaybackMetricsTest.this.fillBuffer();
+        VLCVideoPlaybackMetricsTest.this.fillBuffer();
+
+        assertEquals(1, mPlaybackMetrics.getRebufferCount());
+    }
+
+    private void fillBuffer() {
+        for (int buffering = 0; buffering <= 100; buffering += 25) {
+            mPlaybackMetrics.onBuffering(buffering);
+        }
+    }
+
+}
@@ -1,6 +1,18 @@
 import React, { Component } from 'react';
 import PropTypes from 'prop-types';
-import { View, UIManager, requireNativeComponent, findNodeHandle } from 'react-native';
+import { View, UIManager, NativeModules, DeviceEventEmitter, requireNativeComponent, findNodeHandle } from 'react-native';
+
+const batchedViews = {};
+let batchSubscription = null;
+
+const dispatchEventBatch = (batch) => {
+    batch.forEach((event) => {
+        const component = batchedViews[event.target];
+        if (component && typeof component.callbacks[event.type] === 'function') {
+            component.callbacks[event.type]({ nativeEvent: event.payload });
+        }
+    });
+};
 
 class VLCVideo extends Component {
     constructor(props) {
@@ -14,17 +26,62 @@ class VLCVideo extends Component {
             [RCTVLCVideoViewConstants.ON_END_REACHED]: this._invokeEventCallback.bind(this, 'onEndReached'),
             [RCTVLCVideoViewConstants.ON_ERROR]: this._invokeEventCallback.bind(this, 'onError'),
             [RCTVLCVideoViewConstants.ON_TIME_CHANGED]: this._invokeEventCallback.bind(this, 'onTimeChanged'),
-            [RCTVLCVideoViewConstants.ON_SEEK_PERFORMED]: this._invokeEventCallback.bind(this, 'onSeekPerformed')
+            [RCTVLCVideoViewConstants.ON_SEEK_PERFORMED]: this._invokeEventCallback.bind(this, 'onSeekPerformed'),
+            [RCTVLCVideoViewConstants.ON_PLAYBACK_METRICS]: this._invokeEventCallback.bind(this, 'onPlaybackMetrics'),
+            [RCTVLCVideoViewConstants.ON_STATS]: this._invokeEventCallback.bind(this, 'onStats'),
+            [RCTVLCVideoViewConstants.ON_THUMBNAIL]: this._invokeEventCallback.bind(this, 'onThumbnail'),
+            [RCTVLCVideoViewConstants.ON_MEMORY_TRIMMED]: this._invokeEventCallback.bind(this, 'onMemoryTrimmed'),
+            [RCTVLCVideoViewConstants.ON_RECOVERING]: this._invokeEventCallback.bind(this, 'onRecovering')
         };
     }
 
     shouldComponentUpdate(nextProps, nextState) {
         return nextProps.sourceUrl !== this.props.sourceUrl ||
+            nextProps.autoplay !== this.props.autoplay ||
+            nextProps.startTime !== this.props.startTime ||
+            nextProps.title !== this.props.title ||
+            nextProps.resumeKey !== this.props.resumeKey ||
+            nextProps.hwDecoderEnabled !== this.props.hwDecoderEnabled ||
+            nextProps.networkCaching !== this.props.networkCaching ||
+            nextProps.fileCaching !== this.props.fileCaching ||
+            nextProps.liveCaching !== this.props.liveCaching ||
+            nextProps.clockJitter !== this.props.clockJitter ||
+            nextProps.adaptiveCaching !== this.props.adaptiveCaching ||
+            nextProps.localCacheEnabled !== this.props.localCacheEnabled ||
+            nextProps.mediaOptions !== this.props.mediaOptions ||
+            nextProps.nextMedia !== this.props.nextMedia ||
             nextProps.keyControlEnabled !== this.props.keyControlEnabled ||
             nextProps.playInBackground !== this.props.playInBackground ||
+            nextProps.audioOnlyInBackground !== this.props.audioOnlyInBackground ||
+            nextProps.timeUpdateInterval !== this.props.timeUpdateInterval ||
+            nextProps.timeUpdateWholeSeconds !== this.props.timeUpdateWholeSeconds ||
+            nextProps.statsInterval !== this.props.statsInterval ||
+            nextProps.thumbnailDiskCacheEnabled !== this.props.thumbnailDiskCacheEnabled ||
+            nextProps.eventBatchingEnabled !== this.props.eventBatchingEnabled ||
+            nextProps.resumeInterval !== this.props.resumeInterval ||
+            nextProps.stallTimeout !== this.props.stallTimeout ||
+            nextProps.sizeAwareQualityEnabled !== this.props.sizeAwareQualityEnabled ||
+            nextProps.offscreenBehavior !== this.props.offscreenBehavior ||
+            nextProps.visibilityThreshold !== this.props.visibilityThreshold ||
             nextProps.style !== this.props.style;
     }
 
+    componentDidMount() {
+        this._viewHandle = this._getViewHandle();
+        batchedViews[this._viewHandle] = this;
+        if (batchSubscription === null) {
+            batchSubscription = DeviceEventEmitter.addListener(RCTVLCVideoViewConstants.EVENT_BATCH, dispatchEventBatch);
+        }
+    }
+
+    componentWillUnmount() {
+        delete batchedViews[this._viewHandle];
+        if (batchSubscription !== null && Object.keys(batchedViews).length === 0) {
+            batchSubscription.remove();
+            batchSubscription = null;
+        }
+    }
+
     _assignRoot = (root) => {
         this._root = root;
     }
@@ -67,13 +124,57 @@ class VLCVideo extends Component {
         );
     }
 
+    switchToNextMedia = () => {
+        UIManager.dispatchViewManagerCommand(
+            this._getViewHandle(),
+            UIManager.RCTVLCVideoView.Commands.switchToNextMedia,
+            null
+        );
+    }
+
+    requestThumbnail = (time) => {
+        if (typeof time !== 'number' || isNaN(time) || time < 0) {
+            time = 0;
+        }
+
+        UIManager.dispatchViewManagerCommand(
+            this._getViewHandle(),
+            UIManager.RCTVLCVideoView.Commands.requestThumbnail,
+            [time]
+        );
+    }
+
+    requestPlaybackMetrics = () => {
+        UIManager.dispatchViewManagerCommand(
+            this._getViewHandle(),
+            UIManager.RCTVLCVideoView.Commands.requestPlaybackMetrics,
+            null
+        );
+    }
+
+    getSnapshot = () => {
+        return NativeModules.VLCVideoState.getSnapshot(this._getViewHandle());
+    }
+
+    requestSnapshot = () => {
+        return NativeModules.VLCVideoState.requestSnapshot(this._getViewHandle());
+    }
+
     render() {
         const media = {
             sourceUrl: this.props.sourceUrl,
             autoplay: this.props.autoplay,
             startTime: this.props.startTime,
             title: this.props.title,
-            hwDecoderEnabled: this.props.hwDecoderEnabled
+            resumeKey: this.props.resumeKey,
+            hwDecoderEnabled: this.props.hwDecoderEnabled,
+            networkCaching: this.props.networkCaching,
+            fileCaching: this.props.fileCaching,
+            liveCaching: this.props.liveCaching,
+            clockJitter: this.props.clockJitter,
+            adaptiveCaching: this.props.adaptiveCaching,
+            localCacheEnabled: this.props.localCacheEnabled,
+            mediaOptions: this.props.mediaOptions
         };
 
         return (
@@ -82,7 +183,19 @@ class VLCVideo extends Component {
                 style={this.props.style}
                 keyControlEnabled={this.props.keyControlEnabled}
                 playInBackground={this.props.playInBackground}
+                audioOnlyInBackground={this.props.audioOnlyInBackground}
+                timeUpdateInterval={this.props.timeUpdateInterval}
+                timeUpdateWholeSeconds={this.props.timeUpdateWholeSeconds}
+                statsInterval={this.props.statsInterval}
+                thumbnailDiskCacheEnabled={this.props.thumbnailDiskCacheEnabled}
+                eventBatchingEnabled={this.props.eventBatchingEnabled}
+                resumeInterval={this.props.resumeInterval}
+                stallTimeout={this.props.stallTimeout}
+                sizeAwareQualityEnabled={this.props.sizeAwareQualityEnabled}
+                offscreenBehavior={this.props.offscreenBehavior}
+                visibilityThreshold={this.props.visibilityThreshold}
                 media={media}
+                nextMedia={this.props.nextMedia}
                 {...this.callbacks}
             />
         );
@@ -94,11 +207,43 @@ VLCVideo.propTypes = {
     style: PropTypes.oneOfType([PropTypes.object, PropTypes.number, PropTypes.array]),
     sourceUrl: PropTypes.string.isRequired,
     autoplay: PropTypes.bool.isRequired,
-    startTime: PropTypes.number.isRequired,
+    startTime: PropTypes.number,
     title: PropTypes.string.isRequired,
+    resumeKey: PropTypes.string,
     hwDecoderEnabled: PropTypes.bool.isRequired,
+    networkCaching: PropTypes.number,
+    fileCaching: PropTypes.number,
+    liveCaching: PropTypes.number,
+    clockJitter: PropTypes.number,
+    adaptiveCaching: PropTypes.bool.isRequired,
+    localCacheEnabled: PropTypes.bool.isRequired,
+    mediaOptions: PropTypes.arrayOf(PropTypes.string),
+    nextMedia: PropTypes.shape({
+        sourceUrl: PropTypes.string.isRequired,
+        startTime: PropTypes.number,
+        title: PropTypes.string,
+        resumeKey: PropTypes.string,
+        hwDecoderEnabled: PropTypes.bool,
+        networkCaching: PropTypes.number,
+        fileCaching: PropTypes.number,
+        liveCaching: PropTypes.number,
+        clockJitter: PropTypes.number,
+        localCacheEnabled: PropTypes.bool,
+        mediaOptions: PropTypes.arrayOf(PropTypes.string)
+    }),
     keyControlEnabled: PropTypes.bool.isRequired,
     playInBackground: PropTypes.bool.isRequired,
+    audioOnlyInBackground: PropTypes.bool.isRequired,
+    timeUpdateInterval: PropTypes.number.isRequired,
+    timeUpdateWholeSeconds: PropTypes.bool.isRequired,
+    statsInterval: PropTypes.number.isRequired,
+    thumbnailDiskCacheEnabled: PropTypes.bool.isRequired,
+    eventBatchingEnabled: PropTypes.bool.isRequired,
+    resumeInterval: PropTypes.number.isRequired,
+    stallTimeout: PropTypes.number.isRequired,
+    sizeAwareQualityEnabled: PropTypes.bool.isRequired,
+    offscreenBehavior: PropTypes.oneOf(['none', 'pause', 'suspendVideo']).isRequired,
+    visibilityThreshold: PropTypes.number.isRequired,
     onSeekRequested: PropTypes.func,
     onBuffering: PropTypes.func,
     onPlaying: PropTypes.func,
@@ -106,16 +251,33 @@ VLCVideo.propTypes = {
     onEndReached: PropTypes.func,
     onError: PropTypes.func,
     onTimeChanged: PropTypes.func,
-    onSeekPerformed: PropTypes.func
+    onSeekPerformed: PropTypes.func,
+    onPlaybackMetrics: PropTypes.func,
+    onStats: PropTypes.func,
+    onThumbnail: PropTypes.func,
+    onMemoryTrimmed: PropTypes.func,
+    onRecovering: PropTypes.func
 };
 
 VLCVideo.defaultProps = {
     autoplay: true,
-    startTime: 0,
     title: '',
     hwDecoderEnabled: true,
+    adaptiveCaching: false,
+    localCacheEnabled: false,
     keyControlEnabled: false,
-    playInBackground: false
+    playInBackground: false,
+    audioOnlyInBackground: false,
+    timeUpdateInterval: 0,
+    timeUpdateWholeSeconds: false,
+    statsInterval: 0,
+    thumbnailDiskCacheEnabled: false,
+    eventBatchingEnabled: false,
+    resumeInterval: 0,
+    stallTimeout: 0,
+    sizeAwareQualityEnabled: false,
+    offscreenBehavior: 'none',
+    visibilityThreshold: 0.5
 };
 
 const RCTVLCVideoViewConstants = UIManager.RCTVLCVideoView.Constants;
@@ -125,8 +287,20 @@ const RCTVLCVideoViewInterface = {
     propTypes: {
         ...View.propTypes,
         media: PropTypes.object.isRequired,
+        nextMedia: PropTypes.object,
         keyControlEnabled: PropTypes.bool.isRequired,
         playInBackground: PropTypes.bool.isRequired,
+        audioOnlyInBackground: PropTypes.bool.isRequired,
+        timeUpdateInterval: PropTypes.number.isRequired,
+        timeUpdateWholeSeconds: PropTypes.bool.isRequired,
+        statsInterval: PropTypes.number.isRequired,
+        thumbnailDiskCacheEnabled: PropTypes.bool.isRequired,
+        eventBatchingEnabled: PropTypes.bool.isRequired,
+        resumeInterval: PropTypes.number.isRequired,
+        stallTimeout: PropTypes.number.isRequired,
+        sizeAwareQualityEnabled: PropTypes.bool.isRequired,
+        offscreenBehavior: PropTypes.string.isRequired,
+        visibilityThreshold: PropTypes.number.isRequired,
         [RCTVLCVideoViewConstants.ON_SEEK_REQUESTED]: PropTypes.func,
         [RCTVLCVideoViewConstants.ON_BUFFERING]: PropTypes.func,
         [RCTVLCVideoViewConstants.ON_PLAYING]: PropTypes.func,
@@ -134,15 +308,32 @@ const RCTVLCVideoViewInterface = {
         [RCTVLCVideoViewConstants.ON_END_REACHED]: PropTypes.func,
         [RCTVLCVideoViewConstants.ON_ERROR]: PropTypes.func,
         [RCTVLCVideoViewConstants.ON_TIME_CHANGED]: PropTypes.func,
-        [RCTVLCVideoViewConstants.ON_SEEK_PERFORMED]: PropTypes.func
+        [RCTVLCVideoViewConstants.ON_SEEK_PERFORMED]: PropTypes.func,
+        [RCTVLCVideoViewConstants.ON_PLAYBACK_METRICS]: PropTypes.func,
+        [RCTVLCVideoViewConstants.ON_STATS]: PropTypes.func,
+        [RCTVLCVideoViewConstants.ON_THUMBNAIL]: PropTypes.func,
+        [RCTVLCVideoViewConstants.ON_MEMORY_TRIMMED]: PropTypes.func,
+        [RCTVLCVideoViewConstants.ON_RECOVERING]: PropTypes.func
     }
 };
 
 const RCTVLCVideoView = requireNativeComponent('RCTVLCVideoView', RCTVLCVideoViewInterface, {
     nativeOnly: {
         media: true,
+        nextMedia: true,
         keyControlEnabled: true,
-        playInBackground: true
+        playInBackground: true,
+        audioOnlyInBackground: true,
+        timeUpdateInterval: true,
+        timeUpdateWholeSeconds: true,
+        statsInterval: true,
+        thumbnailDiskCacheEnabled: true,
+        eventBatchingEnabled: true,
+        resumeInterval: true,
+        stallTimeout: true,
+        sizeAwareQualityEnabled: true,
+        offscreenBehavior: true,
+        visibilityThreshold: true
     }
 });
 